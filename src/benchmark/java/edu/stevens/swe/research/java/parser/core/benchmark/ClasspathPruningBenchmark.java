@@ -0,0 +1,81 @@
+package edu.stevens.swe.research.java.parser.core.benchmark;
+
+import edu.stevens.swe.research.java.parser.core.ResearchParser;
+import edu.stevens.swe.research.java.parser.core.core.DiscoveryOptions;
+import edu.stevens.swe.research.java.parser.core.core.ParseProfile;
+import edu.stevens.swe.research.java.parser.core.core.ParserConfig;
+import edu.stevens.swe.research.java.parser.core.model.ClasspathPruning;
+import edu.stevens.swe.research.java.parser.core.model.DiscoveryResult;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compares full-bindings discovery of a project with and without import-driven classpath pruning.
+ * The configuration is detected once, then each variant is warmed up and run several times; the
+ * classpath sizes and the discovery times are reported.
+ * <p>
+ * Usage: {@code ClasspathPruningBenchmark <project-root> [runs]}
+ */
+public class ClasspathPruningBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: ClasspathPruningBenchmark <project-root> [runs]");
+            System.exit(2);
+        }
+        Path projectRoot = Paths.get(args[0]);
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        ResearchParser researchParser = new ResearchParser();
+        ParserConfig config = researchParser.detectConfig(projectRoot, ParseProfile.FULL_BINDINGS);
+        DiscoveryOptions full = new DiscoveryOptions.Builder().build();
+        DiscoveryOptions pruned = new DiscoveryOptions.Builder().classpathPruning(true).build();
+
+        List<Long> fullTimings = measure(researchParser, projectRoot, config, full, runs);
+        List<Long> prunedTimings = measure(researchParser, projectRoot, config, pruned, runs);
+        ClasspathPruning pruning = researchParser.discover(projectRoot, config, pruned).getClasspathPruning();
+
+        System.out.println();
+        System.out.printf("classpath    %d -> %d entries (%.0f%% smaller), %d imported packages, pruning took %d ms%n",
+                pruning.getOriginalEntries(), pruning.getKeptEntries(), pruning.getReduction() * 100,
+                pruning.getImportedPackages(), pruning.getElapsedMillis());
+        report("full", fullTimings);
+        report("pruned", prunedTimings);
+        System.out.printf("speed-up     %.2fx (median)%n", (double) median(fullTimings) / Math.max(1, median(prunedTimings)));
+    }
+
+    private static List<Long> measure(ResearchParser researchParser, Path projectRoot, ParserConfig config,
+                                      DiscoveryOptions options, int runs) throws Exception {
+        // Warm-up: JIT and, for the pruned variant, the jar index cache
+        int testCount = researchParser.discover(projectRoot, config, options).getTestCases().size();
+        List<Long> timings = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            DiscoveryResult result = researchParser.discover(projectRoot, config, options);
+            timings.add((System.nanoTime() - start) / 1_000_000);
+            if (result.getTestCases().size() != testCount) {
+                throw new IllegalStateException("Discovery found " + result.getTestCases().size()
+                        + " test cases instead of " + testCount);
+            }
+        }
+        return timings;
+    }
+
+    private static long median(List<Long> timings) {
+        List<Long> sorted = new ArrayList<>(timings);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static void report(String variant, List<Long> timings) {
+        List<Long> sorted = new ArrayList<>(timings);
+        Collections.sort(sorted);
+        double mean = sorted.stream().mapToLong(Long::longValue).average().orElse(0);
+        System.out.printf("%-12s runs=%d min=%d ms median=%d ms mean=%.1f ms max=%d ms%n",
+                variant, sorted.size(), sorted.get(0), median(sorted), mean, sorted.get(sorted.size() - 1));
+    }
+}
@@ -0,0 +1,39 @@
+package edu.stevens.swe.research.java.parser.core.benchmark;
+
+import edu.stevens.swe.research.java.parser.core.core.ParserConfig;
+import edu.stevens.swe.research.java.parser.core.utils.BuildToolDetectorFactory;
+import edu.stevens.swe.research.java.parser.core.utils.ProjectDetector;
+import edu.stevens.swe.research.java.parser.core.utils.ProjectDetectorProvider;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ServiceLoader;
+
+/**
+ * A detection-only run: detects the configuration of a project and exits. It is the child process timed
+ * by {@link DetectorStartupBenchmark}. With {@code --eager}, the detector of every provider is created
+ * before detecting, as the factory did before detectors were loaded on demand.
+ * The line starting with {@link #DETECTED_MARKER} is printed as soon as the configuration is known.
+ */
+public class DetectMain {
+    static final String DETECTED_MARKER = "DETECTED";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 2 || (args.length == 2 && !"--eager".equals(args[1]))) {
+            System.err.println("Usage: DetectMain <project-root> [--eager]");
+            System.exit(2);
+        }
+        Path projectRoot = Paths.get(args[0]);
+        if (args.length == 2) {
+            for (ProjectDetectorProvider provider : ServiceLoader.load(ProjectDetectorProvider.class)) {
+                ProjectDetector detector = provider.create();
+                detector.supports(projectRoot);
+            }
+        }
+        ParserConfig config = BuildToolDetectorFactory.detect(projectRoot);
+        System.out.println(DETECTED_MARKER
+                + " classpathEntries=" + config.getClasspathEntries().length
+                + " loadedClasses=" + ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+    }
+}
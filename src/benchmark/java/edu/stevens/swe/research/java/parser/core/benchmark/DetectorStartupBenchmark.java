@@ -0,0 +1,108 @@
+package edu.stevens.swe.research.java.parser.core.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures what loading detectors on demand saves a cold start: every run spawns a fresh JVM executing
+ * {@link DetectMain} and measures the wall time until it reports the detected configuration, along with
+ * the number of classes it loaded and how many of them belong to the Gradle Tooling API. Runs creating
+ * every detector up front are compared with runs creating only the detector of the project's build tool.
+ * <p>
+ * Usage: {@code DetectorStartupBenchmark <project-root> [runs]}
+ */
+public class DetectorStartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: DetectorStartupBenchmark <project-root> [runs]");
+            System.exit(2);
+        }
+        String projectRoot = args[0];
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        // Warm the file system cache so the first measured run is not penalised
+        run(projectRoot, true);
+
+        report("eager", measure(projectRoot, true, runs));
+        report("on demand", measure(projectRoot, false, runs));
+    }
+
+    private static List<Run> measure(String projectRoot, boolean eager, int runs) throws IOException, InterruptedException {
+        List<Run> results = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            results.add(run(projectRoot, eager));
+        }
+        return results;
+    }
+
+    /**
+     * Spawns a JVM with the same runtime and classpath as this one, logging every class it loads.
+     */
+    private static Run run(String projectRoot, boolean eager) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-Xlog:class+load=info:stdout");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(DetectMain.class.getName());
+        command.add(projectRoot);
+        if (eager) {
+            command.add("--eager");
+        }
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long elapsedMillis = -1;
+        int loadedClasses = 0;
+        int gradleClasses = 0;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.startsWith(DetectMain.DETECTED_MARKER)) {
+                    elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                } else if (elapsedMillis < 0 && line.contains("[class,load]")) {
+                    loadedClasses++;
+                    if (line.contains(" org.gradle.")) {
+                        gradleClasses++;
+                    }
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        if (elapsedMillis < 0) {
+            throw new IllegalStateException("Child JVM exited with " + exitCode + " without reporting a detection");
+        }
+        System.out.println("  " + elapsedMillis + " ms  classes=" + loadedClasses + " gradleClasses=" + gradleClasses);
+        return new Run(elapsedMillis, loadedClasses, gradleClasses);
+    }
+
+    private static void report(String variant, List<Run> runs) {
+        List<Long> sorted = new ArrayList<>();
+        runs.forEach(run -> sorted.add(run.elapsedMillis));
+        Collections.sort(sorted);
+        double mean = sorted.stream().mapToLong(Long::longValue).average().orElse(0);
+        double classes = runs.stream().mapToInt(run -> run.loadedClasses).average().orElse(0);
+        double gradleClasses = runs.stream().mapToInt(run -> run.gradleClasses).average().orElse(0);
+        System.out.printf("%-10s runs=%d min=%d ms median=%d ms mean=%.1f ms max=%d ms classes=%.0f gradleClasses=%.0f%n",
+                variant, sorted.size(), sorted.get(0), sorted.get(sorted.size() / 2), mean, sorted.get(sorted.size() - 1),
+                classes, gradleClasses);
+    }
+
+    private static final class Run {
+        private final long elapsedMillis;
+        private final int loadedClasses;
+        private final int gradleClasses;
+
+        private Run(long elapsedMillis, int loadedClasses, int gradleClasses) {
+            this.elapsedMillis = elapsedMillis;
+            this.loadedClasses = loadedClasses;
+            this.gradleClasses = gradleClasses;
+        }
+    }
+}
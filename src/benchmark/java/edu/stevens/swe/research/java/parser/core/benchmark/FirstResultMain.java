@@ -0,0 +1,34 @@
+package edu.stevens.swe.research.java.parser.core.benchmark;
+
+import edu.stevens.swe.research.java.parser.core.ResearchParser;
+import edu.stevens.swe.research.java.parser.core.core.DiscoveryOptions;
+import edu.stevens.swe.research.java.parser.core.model.TestCaseInfo;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A minimal short-lived run: discovers the first test case of a project and exits. It is the training
+ * run of the {@code appCdsArchive} task and the child process timed by {@link StartupBenchmark}.
+ * The line starting with {@link #FIRST_RESULT_MARKER} is printed as soon as the first result is known.
+ */
+public class FirstResultMain {
+    static final String FIRST_RESULT_MARKER = "FIRST_RESULT";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("Usage: FirstResultMain <project-root>");
+            System.exit(2);
+        }
+        Path projectRoot = Paths.get(args[0]);
+        try (Stream<TestCaseInfo> testCases = new ResearchParser().streamTestCases(projectRoot, DiscoveryOptions.defaults())) {
+            Optional<TestCaseInfo> first = testCases.findFirst();
+            System.out.println(FIRST_RESULT_MARKER
+                    + " test=" + first.map(testCase -> testCase.getClassName() + "#" + testCase.getMethodName()).orElse("none")
+                    + " loadedClasses=" + ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+        }
+    }
+}
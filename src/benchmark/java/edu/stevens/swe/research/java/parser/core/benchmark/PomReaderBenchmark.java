@@ -0,0 +1,139 @@
+package edu.stevens.swe.research.java.parser.core.benchmark;
+
+import edu.stevens.swe.research.java.parser.core.utils.PomModel;
+import edu.stevens.swe.research.java.parser.core.utils.PomReader;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compares reading POMs with {@link PomReader} to building a DOM and querying it with
+ * {@code getElementsByTagName}, as {@code MavenDetector} did before. Every POM under the given directory,
+ * e.g. a local Maven repository, is read repeatedly and the time and the bytes allocated per POM are reported.
+ * <p>
+ * Usage: {@code PomReaderBenchmark <pom-or-directory> [iterations]}
+ */
+public class PomReaderBenchmark {
+    private static final String[] EXTRACTED_TAGS = {"parent", "properties", "modules", "module", "dependencyManagement"};
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: PomReaderBenchmark <pom-or-directory> [iterations]");
+            System.exit(2);
+        }
+        List<Path> poms = findPoms(Paths.get(args[0]));
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        if (poms.isEmpty()) {
+            System.err.println("No POMs found under " + args[0]);
+            System.exit(1);
+        }
+        long totalBytes = 0;
+        for (Path pom : poms) {
+            totalBytes += Files.size(pom);
+        }
+        System.out.printf("POMs=%d mean size=%.1f KB iterations=%d%n", poms.size(), totalBytes / 1024.0 / poms.size(), iterations);
+
+        // Warm up both readers so the JIT compiled them before measuring
+        for (int i = 0; i < Math.max(1, 2000 / poms.size()); i++) {
+            readAll(poms, true);
+            readAll(poms, false);
+        }
+        report("DOM", poms.size(), iterations, () -> readAll(poms, true));
+        report("StAX", poms.size(), iterations, () -> readAll(poms, false));
+    }
+
+    private static List<Path> findPoms(Path root) throws IOException {
+        if (Files.isRegularFile(root)) {
+            return List.of(root);
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.endsWith(".pom") || name.equals("pom.xml");
+            }).filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Reads every POM and returns a checksum of what was extracted, so the work cannot be optimised away.
+     */
+    private static int readAll(List<Path> poms, boolean dom) throws Exception {
+        int checksum = 0;
+        for (Path pom : poms) {
+            try {
+                checksum += dom ? readWithDom(pom) : readWithStax(pom);
+            } catch (Exception e) {
+                // Malformed POMs exist in every large repository; both readers skip them
+            }
+        }
+        return checksum;
+    }
+
+    private static int readWithStax(Path pom) throws IOException {
+        PomModel model = PomReader.read(pom);
+        return model.getDependencyVersions().size() + model.getManagedVersions().size()
+                + model.getProperties().size() + model.getModules().size();
+    }
+
+    /**
+     * The extraction MavenDetector did on a DOM: all dependencies, the managed ones, the first properties
+     * element, the modules and the parent, each found with {@code getElementsByTagName}.
+     */
+    private static int readWithDom(Path pom) throws Exception {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(pom.toFile());
+        Map<String, String> versions = new HashMap<>();
+        NodeList dependencies = document.getElementsByTagName("dependency");
+        for (int i = 0; i < dependencies.getLength(); i++) {
+            Element dependency = (Element) dependencies.item(i);
+            versions.put(text(dependency, "groupId") + ":" + text(dependency, "artifactId"), text(dependency, "version"));
+        }
+        int found = versions.size();
+        for (String tag : EXTRACTED_TAGS) {
+            NodeList elements = document.getElementsByTagName(tag);
+            if (elements.getLength() > 0) {
+                found += ((Element) elements.item(0)).getElementsByTagName("*").getLength();
+            }
+        }
+        return found;
+    }
+
+    private static String text(Element parent, String tagName) {
+        NodeList elements = parent.getElementsByTagName(tagName);
+        return elements.getLength() > 0 ? elements.item(0).getTextContent() : null;
+    }
+
+    private interface Run {
+        int run() throws Exception;
+    }
+
+    private static void report(String variant, int pomCount, int iterations, Run run) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        List<Long> timings = new ArrayList<>();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            run.run();
+            timings.add(System.nanoTime() - start);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        timings.sort(null);
+        double reads = (double) pomCount * iterations;
+        System.out.printf("%-5s median=%.1f us/POM min=%.1f us/POM allocated=%.1f KB/POM%n", variant,
+                timings.get(timings.size() / 2) / 1000.0 / pomCount, timings.get(0) / 1000.0 / pomCount,
+                allocated / 1024.0 / reads);
+    }
+}
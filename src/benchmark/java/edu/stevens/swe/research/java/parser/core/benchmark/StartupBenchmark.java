@@ -0,0 +1,93 @@
+package edu.stevens.swe.research.java.parser.core.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures the time to first result of cold starts: every run spawns a fresh JVM executing
+ * {@link FirstResultMain} and measures the wall time from spawning it until it reports its first
+ * test case. Runs with the default CDS archive are compared with runs using the AppCDS archive
+ * created by the {@code appCdsArchive} task.
+ * <p>
+ * Usage: {@code StartupBenchmark <project-root> <appcds-archive> [runs]}
+ */
+public class StartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: StartupBenchmark <project-root> <appcds-archive> [runs]");
+            System.exit(2);
+        }
+        String projectRoot = args[0];
+        Path archive = Paths.get(args[1]);
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        // Warm the file system cache so the first measured run is not penalised
+        timeFirstResult(List.of(), projectRoot);
+
+        report("default CDS", measure(List.of(), projectRoot, runs));
+        if (Files.isRegularFile(archive)) {
+            report("AppCDS", measure(List.of("-XX:SharedArchiveFile=" + archive.toAbsolutePath()), projectRoot, runs));
+        } else {
+            System.out.println("AppCDS archive not found at " + archive + ", run the appCdsArchive task first");
+        }
+    }
+
+    private static List<Long> measure(List<String> jvmArgs, String projectRoot, int runs) throws IOException, InterruptedException {
+        List<Long> timings = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            timings.add(timeFirstResult(jvmArgs, projectRoot));
+        }
+        return timings;
+    }
+
+    /**
+     * Spawns a JVM with the same runtime and classpath as this one and returns the milliseconds until
+     * it printed its first result.
+     */
+    private static long timeFirstResult(List<String> jvmArgs, String projectRoot) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(FirstResultMain.class.getName());
+        command.add(projectRoot);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long elapsedMillis = -1;
+        String firstResult = null;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (elapsedMillis < 0 && line.startsWith(FirstResultMain.FIRST_RESULT_MARKER)) {
+                    elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                    firstResult = line;
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        if (elapsedMillis < 0) {
+            throw new IllegalStateException("Child JVM exited with " + exitCode + " without reporting a first result");
+        }
+        System.out.println("  " + elapsedMillis + " ms  " + firstResult);
+        return elapsedMillis;
+    }
+
+    private static void report(String variant, List<Long> timings) {
+        List<Long> sorted = new ArrayList<>(timings);
+        Collections.sort(sorted);
+        double mean = sorted.stream().mapToLong(Long::longValue).average().orElse(0);
+        System.out.printf("%-12s runs=%d min=%d ms median=%d ms mean=%.1f ms max=%d ms%n",
+                variant, sorted.size(), sorted.get(0), sorted.get(sorted.size() / 2), mean, sorted.get(sorted.size() - 1));
+    }
+}
@@ -0,0 +1,10 @@
+package sample;
+
+final class CalculatorFixtures {
+    private CalculatorFixtures() {
+    }
+
+    static Calculator newCalculator() {
+        return new Calculator();
+    }
+}
@@ -0,0 +1,25 @@
+package sample;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CalculatorTest {
+    private final Calculator calculator = CalculatorFixtures.newCalculator();
+
+    @Test
+    public void addsNumbers() {
+        assertEquals(5, calculator.add(2, 3));
+    }
+
+    @Test
+    public void dividesNumbers() {
+        assertEquals(2, calculator.divide(6, 3));
+    }
+
+    @Test
+    public void rejectsDivisionByZero() {
+        assertThrows(ArithmeticException.class, () -> calculator.divide(1, 0));
+    }
+}
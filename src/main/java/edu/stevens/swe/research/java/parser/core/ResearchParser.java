@@ -1,22 +1,32 @@
 package edu.stevens.swe.research.java.parser.core;
 
 import edu.stevens.swe.research.java.parser.core.core.ASTProcessor;
+import edu.stevens.swe.research.java.parser.core.core.ClasspathOptimizer;
+import edu.stevens.swe.research.java.parser.core.core.DiscoveryCache;
+import edu.stevens.swe.research.java.parser.core.core.DiscoveryOptions;
+import edu.stevens.swe.research.java.parser.core.core.LiveTestIndex;
+import edu.stevens.swe.research.java.parser.core.core.ParseProfile;
 import edu.stevens.swe.research.java.parser.core.core.ParserConfig;
+import edu.stevens.swe.research.java.parser.core.core.TestDiscoverer;
+import edu.stevens.swe.research.java.parser.core.core.TestSourceLocator;
+import edu.stevens.swe.research.java.parser.core.metrics.DiscoveryMetrics;
+import edu.stevens.swe.research.java.parser.core.metrics.Phase;
+import edu.stevens.swe.research.java.parser.core.model.ClasspathPruning;
+import edu.stevens.swe.research.java.parser.core.model.DiscoveryResult;
 import edu.stevens.swe.research.java.parser.core.model.TestCaseInfo;
 import edu.stevens.swe.research.java.parser.core.utils.BuildToolDetectorFactory;
-import edu.stevens.swe.research.java.parser.core.visitor.TestAstVisitor;
+import edu.stevens.swe.research.java.parser.core.utils.DetectionCache;
+import edu.stevens.swe.research.java.parser.core.utils.SourceLayoutDetector;
 import edu.stevens.swe.research.java.parser.core.utils.exceptions.ProjectDetectionException;
 import org.eclipse.jdt.core.dom.ASTParser;
-import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
@@ -53,55 +63,211 @@ public class ResearchParser {
      * @throws IOException if an error occurs while reading source files.
      */
     public List<TestCaseInfo> getTestCases(Path projectRoot) throws ProjectDetectionException, IOException {
-        ParserConfig config = BuildToolDetectorFactory.detect(projectRoot);
-        ASTProcessor astProcessor = new ASTProcessor(config);
-        ASTParser parser = astProcessor.createParser();
-
-        List<TestCaseInfo> allTestCases = new ArrayList<>();
-        List<Path> testJavaFiles = new ArrayList<>();
-
-        // Identify test source roots.
-        String[] sourcePaths = config.getSourcepathEntries();
-        if (sourcePaths != null) {
-            for (String sourcePathStr : sourcePaths) {
-                Path sourcePath = projectRoot.resolve(sourcePathStr); 
-                if (Files.exists(sourcePath) && Files.isDirectory(sourcePath) && sourcePath.toString().contains("test")) {
-                    try (Stream<Path> walk = Files.walk(sourcePath)) {
-                        testJavaFiles.addAll(walk.filter(Files::isRegularFile)
-                                .filter(p -> p.toString().endsWith(".java"))
-                                .collect(Collectors.toList()));
-                    }
-                }
+        return getTestCases(projectRoot, DiscoveryOptions.defaults());
+    }
+
+    /**
+     * Discovers all test cases within the specified Java project using the given discovery options.
+     * With a parallelism greater than one, test files are parsed by a pool of workers that each own
+     * an ASTParser created by {@link ASTProcessor#createParser()}; with deterministic order enabled
+     * the result is identical to the sequential discovery.
+     *
+     * @param projectRoot The root directory of the Java project.
+     * @param options The {@link DiscoveryOptions} controlling how test files are parsed.
+     * @return A list of {@link TestCaseInfo} objects, each representing a found test case.
+     * @throws ProjectDetectionException if the project type cannot be detected or configuration fails.
+     * @throws IOException if an error occurs while walking the test source directories.
+     */
+    public List<TestCaseInfo> getTestCases(Path projectRoot, DiscoveryOptions options) throws ProjectDetectionException, IOException {
+        return discover(projectRoot, options).getTestCases();
+    }
+
+    /**
+     * Discovers all test cases within the specified Java project like {@link #getTestCases(Path, DiscoveryOptions)},
+     * and also reports how many test files were parsed, skipped by the pre-filter or served from the cache.
+     *
+     * @param projectRoot The root directory of the Java project.
+     * @param options The {@link DiscoveryOptions} controlling how test files are parsed.
+     * @return A {@link DiscoveryResult} holding the test cases and the file counts.
+     * @throws ProjectDetectionException if the project type cannot be detected or configuration fails.
+     * @throws IOException if an error occurs while walking the test source directories.
+     */
+    public DiscoveryResult discover(Path projectRoot, DiscoveryOptions options) throws ProjectDetectionException, IOException {
+        return discover(projectRoot, detectConfig(projectRoot, options), options);
+    }
+
+    /**
+     * Discovers all test cases within the specified Java project using an already detected configuration,
+     * so callers that detect many projects up front, or reuse a detection, do not pay for it again.
+     *
+     * @param projectRoot The root directory of the Java project.
+     * @param config The {@link ParserConfig} detected for the project, matching the parse profile of the options.
+     * @param options The {@link DiscoveryOptions} controlling how test files are parsed.
+     * @return A {@link DiscoveryResult} holding the test cases and the file counts.
+     * @throws IOException if an error occurs while walking the test source directories.
+     */
+    public DiscoveryResult discover(Path projectRoot, ParserConfig config, DiscoveryOptions options) throws IOException {
+        List<Path> testJavaFiles = options.isBoundedMemory()
+                ? null
+                : TestSourceLocator.findTestJavaFiles(projectRoot, config, options);
+        ParserConfig parseConfig = config;
+        ClasspathPruning classpathPruning = null;
+        if (testJavaFiles != null && options.isClasspathPruning() && options.getParseProfile() == ParseProfile.FULL_BINDINGS) {
+            ClasspathOptimizer.Result pruned = new ClasspathOptimizer().optimize(config, testJavaFiles);
+            parseConfig = pruned.getConfig();
+            classpathPruning = pruned.getPruning();
+        }
+        ASTProcessor astProcessor = new ASTProcessor(parseConfig, options.getParseProfile());
+        // Keyed by the detected configuration, so pruned and unpruned runs share the cache
+        DiscoveryCache cache = openCache(projectRoot, config, options);
+        TestDiscoverer discoverer = new TestDiscoverer(astProcessor, options, cache);
+        List<TestCaseInfo> testCases;
+        int totalFiles;
+        if (testJavaFiles == null) {
+            // Never hold the whole file list: files are walked as the chunks pull them
+            AtomicInteger walkedFiles = new AtomicInteger();
+            try (Stream<Path> walked = TestSourceLocator.streamTestJavaFiles(projectRoot, config, options)) {
+                testCases = discoverer.discoverWithinBudget(walked.peek(javaFile -> walkedFiles.incrementAndGet()));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
             }
+            totalFiles = walkedFiles.get();
+        } else {
+            testCases = discoverer.discover(testJavaFiles);
+            totalFiles = testJavaFiles.size();
         }
-        if (testJavaFiles.isEmpty()) {
-             Path defaultTestSourcePath = projectRoot.resolve("src/test/java");
-             if (Files.exists(defaultTestSourcePath) && Files.isDirectory(defaultTestSourcePath)){
-                 try (Stream<Path> walk = Files.walk(defaultTestSourcePath)) {
-                        testJavaFiles.addAll(walk.filter(Files::isRegularFile)
-                                .filter(p -> p.toString().endsWith(".java"))
-                                .collect(Collectors.toList()));
-                    }
-             }
+        if (cache != null) {
+            // Files a deadline kept from being seen keep their entries
+            cache.save(discoverer.isDeadlineReached());
         }
+        return new DiscoveryResult.Builder()
+                .testCases(testCases)
+                .totalFiles(totalFiles)
+                .parsedFiles(discoverer.getParsedFileCount())
+                .skippedFiles(discoverer.getSkippedFileCount())
+                .cachedFiles(discoverer.getCachedFileCount())
+                .chunks(discoverer.getChunkStatistics())
+                .timedOutFiles(discoverer.getTimedOutFiles())
+                .partial(discoverer.isDeadlineReached())
+                .classpathPruning(classpathPruning)
+                .build();
+    }
 
-        for (Path javaFile : testJavaFiles) {
-            try {
-                String content = new String(Files.readAllBytes(javaFile), StandardCharsets.UTF_8);
-                parser.setSource(content.toCharArray());
-                parser.setUnitName(javaFile.toAbsolutePath().toString()); 
-                CompilationUnit cu = (CompilationUnit) parser.createAST(null);
-                
-                TestAstVisitor visitor = new TestAstVisitor(javaFile.toAbsolutePath().toString());
-                cu.accept(visitor);
-                allTestCases.addAll(visitor.getTestCases());
-            } catch (IOException e) {
-                System.err.println("Error reading file: " + javaFile + " - " + e.getMessage());
-            } catch (Exception e) {
-                System.err.println("Error parsing file: " + javaFile + " - " + e.getMessage());
+    /**
+     * Discovers the test cases of the specified Java project as a lazy stream. Test source
+     * directories are walked and files are parsed only as the stream is consumed, so the first
+     * results are available immediately and memory does not grow with the size of the project.
+     * Files are parsed one by one; the parse profile of the options applies, parallelism and
+     * batch parsing do not.
+     * <p>
+     * The returned stream holds open directory handles and must be closed, preferably with
+     * try-with-resources. Closing it early stops walking and parsing.
+     *
+     * @param projectRoot The root directory of the Java project.
+     * @param options The {@link DiscoveryOptions} controlling how test files are parsed.
+     * @return A lazy stream of {@link TestCaseInfo} objects.
+     * @throws ProjectDetectionException if the project type cannot be detected or configuration fails.
+     */
+    public Stream<TestCaseInfo> streamTestCases(Path projectRoot, DiscoveryOptions options) throws ProjectDetectionException {
+        ParserConfig config = detectConfig(projectRoot, options);
+        ASTProcessor astProcessor = new ASTProcessor(config, options.getParseProfile());
+        Stream<Path> testJavaFiles = TestSourceLocator.streamTestJavaFiles(projectRoot, config, options);
+        DiscoveryCache cache = openCache(projectRoot, config, options);
+        Stream<TestCaseInfo> testCases = new TestDiscoverer(astProcessor, options, cache).stream(testJavaFiles);
+        // The stream may be closed before every file was seen, so keep the entries it did not reach
+        return cache == null ? testCases : testCases.onClose(() -> cache.save(true));
+    }
+
+    /**
+     * Discovers the test cases of the specified Java project and hands each one to the given sink
+     * as soon as the file declaring it has been visited, without collecting them into a list.
+     *
+     * @param projectRoot The root directory of the Java project.
+     * @param options The {@link DiscoveryOptions} controlling how test files are parsed.
+     * @param sink Receives every discovered {@link TestCaseInfo}.
+     * @throws ProjectDetectionException if the project type cannot be detected or configuration fails.
+     * @throws IOException if an error occurs while walking the test source directories.
+     * @see #streamTestCases(Path, DiscoveryOptions)
+     */
+    public void discoverTestCases(Path projectRoot, DiscoveryOptions options, Consumer<? super TestCaseInfo> sink)
+            throws ProjectDetectionException, IOException {
+        try (Stream<TestCaseInfo> testCases = streamTestCases(projectRoot, options)) {
+            testCases.forEach(sink);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Discovers the test cases of the specified Java project once and returns an index that keeps them
+     * up to date as test files are created, modified or deleted, for tools that query them repeatedly.
+     * The index must be closed to stop watching the file system.
+     *
+     * @param projectRoot The root directory of the Java project.
+     * @param options The {@link DiscoveryOptions} of the initial discovery.
+     * @return A started {@link LiveTestIndex}.
+     * @throws ProjectDetectionException if the project type cannot be detected or configuration fails.
+     * @throws IOException if the test source directories cannot be walked or watched.
+     */
+    public LiveTestIndex openLiveIndex(Path projectRoot, DiscoveryOptions options) throws ProjectDetectionException, IOException {
+        ParserConfig config = detectConfig(projectRoot, options);
+        LiveTestIndex index = new LiveTestIndex(projectRoot, new ASTProcessor(config, options.getParseProfile()), options);
+        index.start();
+        return index;
+    }
+
+    /**
+     * Detects the configuration needed for the parse profile of the options. When the options enable the
+     * detection cache, an unchanged project is served from the {@link DetectionCache} in the cache directory.
+     *
+     * @param projectRoot The root directory of the project.
+     * @param options The {@link DiscoveryOptions} naming the parse profile and cache.
+     * @return The detected {@link ParserConfig}.
+     * @throws ProjectDetectionException if detection fails.
+     */
+    public ParserConfig detectConfig(Path projectRoot, DiscoveryOptions options) throws ProjectDetectionException {
+        if (options.getParseProfile() == ParseProfile.FAST_SYNTAX || !options.isDetectionCache()
+                || options.getCacheDirectory() == null) {
+            return detectConfig(projectRoot, options.getParseProfile());
+        }
+        long start = System.nanoTime();
+        try {
+            return DetectionCache.open(options.getCacheDirectory()).detect(projectRoot);
+        } finally {
+            DiscoveryMetrics.global().recordSince(Phase.DETECT, start);
+        }
+    }
+
+    /**
+     * Detects the configuration needed for the given parse profile. A syntax-only parse needs no
+     * classpath, so build tool detection is skipped and test roots come from the source layout.
+     *
+     * @param projectRoot The root directory of the project.
+     * @param profile The parse profile the configuration is for.
+     * @return The detected {@link ParserConfig}.
+     * @throws ProjectDetectionException if detection fails.
+     */
+    public ParserConfig detectConfig(Path projectRoot, ParseProfile profile) throws ProjectDetectionException {
+        long start = System.nanoTime();
+        try {
+            if (profile == ParseProfile.FAST_SYNTAX) {
+                return new SourceLayoutDetector().detect(projectRoot);
             }
+            return BuildToolDetectorFactory.detect(projectRoot);
+        } finally {
+            DiscoveryMetrics.global().recordSince(Phase.DETECT, start);
+        }
+    }
+
+    /**
+     * Opens the discovery cache configured in the options, or returns {@code null} if caching is disabled.
+     */
+    private DiscoveryCache openCache(Path projectRoot, ParserConfig config, DiscoveryOptions options) {
+        if (options.getCacheDirectory() == null) {
+            return null;
         }
-        return allTestCases;
+        return DiscoveryCache.open(options.getCacheDirectory(), projectRoot,
+                DiscoveryCache.fingerprint(config, options.getParseProfile()));
     }
 
     // --- Debug Helper Methods ---
@@ -0,0 +1,449 @@
+package edu.stevens.swe.research.java.parser.core;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import edu.stevens.swe.research.java.parser.core.core.ASTProcessor;
+import edu.stevens.swe.research.java.parser.core.core.DiscoveryOptions;
+import edu.stevens.swe.research.java.parser.core.core.LiveTestIndex;
+import edu.stevens.swe.research.java.parser.core.core.ParserConfig;
+import edu.stevens.swe.research.java.parser.core.metrics.DiscoveryMetrics;
+import edu.stevens.swe.research.java.parser.core.model.TestCaseInfo;
+import edu.stevens.swe.research.java.parser.core.utils.BuildToolDetectorFactory;
+import edu.stevens.swe.research.java.parser.core.utils.exceptions.ProjectDetectionException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A long-running server that keeps detection results and parser environments warm between requests,
+ * so tools that query many times do not pay for JVM start-up, JIT warm-up and build tool detection
+ * on every call.
+ * <p>
+ * The server listens on the loopback interface only and answers JSON over HTTP. Requests must name the server
+ * as {@code localhost}, {@code 127.0.0.1} or {@code [::1]} with its port in their {@code Host} header, and
+ * requests sent by a browser on behalf of another site are refused, so web pages cannot reach the server
+ * through DNS rebinding or cross-site requests:
+ * <ul>
+ *     <li>{@code GET /detect?root=<dir>} returns the {@link ParserConfig} detected for the project.</li>
+ *     <li>{@code GET /tests?root=<dir>} returns the test cases of the project.</li>
+ *     <li>{@code POST /invalidate?root=<dir>} forgets the project, e.g. after its build file changed;
+ *         without a root every project is forgotten.</li>
+ * </ul>
+ * The configuration of a project is detected on its first request. Its test cases are discovered once into a
+ * {@link LiveTestIndex}, which keeps them current as test files change, so repeated queries are answered
+ * from memory. Requests are handled by a fixed pool of workers; requests for different projects run
+ * concurrently, while the first requests for the same project wait for a single detection.
+ */
+public class ResearchServer implements Closeable {
+    private static final int DEFAULT_PORT = 7391;
+
+    private final ResearchParser researchParser;
+    private final DiscoveryOptions options;
+    private final int port;
+    private final int workers;
+    private final Map<Path, ProjectState> projects = new ConcurrentHashMap<>();
+    private volatile Set<String> allowedHosts = Set.of();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates a server for the given port with one worker per available processor.
+     *
+     * @param port The loopback port to listen on, or 0 to pick a free one.
+     */
+    public ResearchServer(int port) {
+        this(new ResearchParser(), DiscoveryOptions.defaults(), port, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param researchParser The parser used for detection of each project.
+     * @param options The {@link DiscoveryOptions} used for every project.
+     * @param port The loopback port to listen on, or 0 to pick a free one.
+     * @param workers The number of requests handled at the same time.
+     */
+    public ResearchServer(ResearchParser researchParser, DiscoveryOptions options, int port, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Workers must be at least 1 but was " + workers);
+        }
+        this.researchParser = researchParser;
+        this.options = options;
+        this.port = port;
+        this.workers = workers;
+    }
+
+    /**
+     * Starts the server with the given arguments: {@code [port] [workers]}.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        DiscoveryMetrics.registerMBean();
+        ResearchServer researchServer = new ResearchServer(new ResearchParser(), DiscoveryOptions.defaults(), port, workers);
+        researchServer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(researchServer::close, "parser-core-server-shutdown"));
+        System.out.println("parser-core server listening on " + researchServer.getAddress());
+    }
+
+    /**
+     * Binds the loopback port and starts handling requests.
+     *
+     * @throws IOException if the port cannot be bound.
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Server is already started");
+        }
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        int boundPort = httpServer.getAddress().getPort();
+        allowedHosts = Set.of("localhost:" + boundPort, "127.0.0.1:" + boundPort, "[::1]:" + boundPort);
+        httpServer.createContext("/detect", new RequestHandler("GET", this::handleDetect));
+        httpServer.createContext("/tests", new RequestHandler("GET", this::handleTests));
+        httpServer.createContext("/invalidate", new RequestHandler("POST", this::handleInvalidate));
+        AtomicInteger workerCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "parser-core-server-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.setExecutor(executor);
+        httpServer.start();
+        server = httpServer;
+    }
+
+    /**
+     * Returns the address the server listens on, with the actual port if it was started on port 0.
+     */
+    public synchronized InetSocketAddress getAddress() {
+        if (server == null) {
+            throw new IllegalStateException("Server is not started");
+        }
+        return server.getAddress();
+    }
+
+    /**
+     * Stops handling requests and stops watching every project.
+     */
+    @Override
+    public synchronized void close() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        invalidateAll();
+    }
+
+    /**
+     * Forgets the detected configuration and the test cases of the given project.
+     *
+     * @return Whether the project was known.
+     */
+    public boolean invalidate(Path projectRoot) {
+        BuildToolDetectorFactory.invalidate(projectRoot);
+        ProjectState state = projects.remove(normalize(projectRoot));
+        if (state == null) {
+            return false;
+        }
+        state.close();
+        return true;
+    }
+
+    /**
+     * Forgets every project.
+     *
+     * @return The number of projects forgotten.
+     */
+    public int invalidateAll() {
+        int count = 0;
+        for (Path projectRoot : List.copyOf(projects.keySet())) {
+            if (invalidate(projectRoot)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Response handleDetect(Map<String, String> query) throws Exception {
+        Path projectRoot = requireRoot(query);
+        ParserConfig config = project(projectRoot).config();
+        StringBuilder json = new StringBuilder();
+        json.append("{\"root\":").append(quote(projectRoot.toString()))
+            .append(",\"complianceLevel\":").append(quote(config.getComplianceLevel()))
+            .append(",\"classpath\":");
+        appendArray(json, config.getClasspathEntries());
+        json.append(",\"sourcepath\":");
+        appendArray(json, config.getSourcepathEntries());
+        json.append(",\"encodings\":");
+        appendArray(json, config.getEncodings());
+        json.append('}');
+        return new Response(200, json.toString());
+    }
+
+    private Response handleTests(Map<String, String> query) throws Exception {
+        Path projectRoot = requireRoot(query);
+        LiveTestIndex index = index(projectRoot);
+        List<TestCaseInfo> testCases = index.getTestCases();
+        StringBuilder json = new StringBuilder();
+        json.append("{\"root\":").append(quote(projectRoot.toString()))
+            .append(",\"files\":").append(index.getFileCount())
+            .append(",\"generation\":").append(index.getGeneration())
+            .append(",\"testCases\":[");
+        for (int i = 0; i < testCases.size(); i++) {
+            TestCaseInfo testCase = testCases.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"className\":").append(quote(testCase.getClassName()))
+                .append(",\"methodName\":").append(quote(testCase.getMethodName()))
+                .append(",\"absolutePath\":").append(quote(testCase.getAbsolutePath()))
+                .append('}');
+        }
+        json.append("]}");
+        return new Response(200, json.toString());
+    }
+
+    private Response handleInvalidate(Map<String, String> query) {
+        String root = query.get("root");
+        int invalidated = root == null ? invalidateAll() : (invalidate(Paths.get(root)) ? 1 : 0);
+        return new Response(200, "{\"invalidated\":" + invalidated + "}");
+    }
+
+    private ProjectState project(Path projectRoot) {
+        return projects.computeIfAbsent(projectRoot, ProjectState::new);
+    }
+
+    /**
+     * Returns the live index of the project. A state invalidated by a concurrent request is already gone from
+     * the projects, so the project is simply looked up again and starts afresh; so does a project whose index
+     * failed and may be out of date.
+     */
+    private LiveTestIndex index(Path projectRoot) throws ProjectDetectionException, IOException {
+        while (true) {
+            ProjectState state = project(projectRoot);
+            LiveTestIndex index = state.index();
+            if (index != null && !index.isFailed()) {
+                return index;
+            }
+            // Only drop this state, not one a concurrent request already started afresh
+            if (index != null && projects.remove(projectRoot, state)) {
+                state.close();
+            }
+        }
+    }
+
+    /**
+     * Whether the request is addressed to this server by a loopback name and, if a browser sent it, comes
+     * from a page served by this server. The {@code Host} check defeats DNS rebinding; the {@code Origin}
+     * and {@code Sec-Fetch-Site} checks refuse cross-site requests, which would otherwise name a valid host.
+     */
+    private boolean isAllowed(HttpExchange exchange) {
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        if (host == null || !allowedHosts.contains(host.toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        String origin = exchange.getRequestHeaders().getFirst("Origin");
+        if (origin != null && !allowedHosts.contains(origin.toLowerCase(Locale.ROOT).replaceFirst("^http://", ""))) {
+            return false;
+        }
+        String fetchSite = exchange.getRequestHeaders().getFirst("Sec-Fetch-Site");
+        return fetchSite == null || fetchSite.equals("same-origin") || fetchSite.equals("none");
+    }
+
+    private Path requireRoot(Map<String, String> query) throws BadRequestException {
+        String root = query.get("root");
+        if (root == null || root.isEmpty()) {
+            throw new BadRequestException("Missing query parameter: root");
+        }
+        Path projectRoot = normalize(Paths.get(root));
+        if (!Files.isDirectory(projectRoot)) {
+            throw new BadRequestException("Project root is not a directory: " + projectRoot);
+        }
+        return projectRoot;
+    }
+
+    private static Path normalize(Path projectRoot) {
+        return projectRoot.toAbsolutePath().normalize();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static void appendArray(StringBuilder json, String[] values) {
+        json.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(quote(values[i]));
+        }
+        json.append(']');
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': quoted.append("\\\""); break;
+                case '\\': quoted.append("\\\\"); break;
+                case '\n': quoted.append("\\n"); break;
+                case '\r': quoted.append("\\r"); break;
+                case '\t': quoted.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * The warm state of one project: its detected configuration and its live index, both created on first use.
+     */
+    private final class ProjectState {
+        private final Path projectRoot;
+        private ParserConfig config;
+        private LiveTestIndex index;
+        private boolean closed;
+
+        private ProjectState(Path projectRoot) {
+            this.projectRoot = projectRoot;
+        }
+
+        private synchronized ParserConfig config() throws ProjectDetectionException {
+            if (config == null) {
+                config = researchParser.detectConfig(projectRoot, options);
+            }
+            return config;
+        }
+
+        /**
+         * Returns the live index, starting it on first use, or null if the project was invalidated.
+         */
+        private synchronized LiveTestIndex index() throws ProjectDetectionException, IOException {
+            if (closed) {
+                return null;
+            }
+            if (index == null) {
+                LiveTestIndex created = new LiveTestIndex(projectRoot, new ASTProcessor(config(), options.getParseProfile()), options);
+                created.start();
+                index = created;
+            }
+            return index;
+        }
+
+        private synchronized void close() {
+            closed = true;
+            if (index != null) {
+                try {
+                    index.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing live test index of project: " + projectRoot + " - " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private interface Endpoint {
+        Response handle(Map<String, String> query) throws Exception;
+    }
+
+    private static final class Response {
+        private final int status;
+        private final String body;
+
+        private Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    private static final class BadRequestException extends Exception {
+        private BadRequestException(String message) {
+            super(message);
+        }
+    }
+
+    private final class RequestHandler implements HttpHandler {
+        private final String method;
+        private final Endpoint endpoint;
+
+        private RequestHandler(String method, Endpoint endpoint) {
+            this.method = method;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            Response response;
+            try {
+                if (!isAllowed(exchange)) {
+                    response = error(403, "Forbidden host or origin");
+                } else if (!method.equals(exchange.getRequestMethod())) {
+                    response = error(405, "Method not allowed: " + exchange.getRequestMethod());
+                } else {
+                    response = endpoint.handle(parseQuery(exchange.getRequestURI().getRawQuery()));
+                }
+            } catch (BadRequestException e) {
+                response = error(400, e.getMessage());
+            } catch (ProjectDetectionException e) {
+                response = error(422, e.getMessage());
+            } catch (Exception e) {
+                System.err.println("Error handling request: " + exchange.getRequestURI() + " - " + e.getMessage());
+                response = error(500, String.valueOf(e.getMessage()));
+            }
+            byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(response.status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+
+        private Response error(int status, String message) {
+            return new Response(status, "{\"error\":" + quote(message) + "}");
+        }
+    }
+}
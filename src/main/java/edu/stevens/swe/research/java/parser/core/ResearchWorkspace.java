@@ -0,0 +1,164 @@
+package edu.stevens.swe.research.java.parser.core;
+
+import edu.stevens.swe.research.java.parser.core.core.DiscoveryOptions;
+import edu.stevens.swe.research.java.parser.core.core.ParserConfig;
+import edu.stevens.swe.research.java.parser.core.model.DiscoveryResult;
+import edu.stevens.swe.research.java.parser.core.model.ProjectDiscoveryResult;
+import edu.stevens.swe.research.java.parser.core.model.WorkspaceDiscoveryResult;
+import edu.stevens.swe.research.java.parser.core.utils.BuildToolDetectorFactory;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Discovers the test cases of many projects at once, e.g. every repository checked out below one directory.
+ * <p>
+ * Each project runs on its own virtual thread, so I/O-bound build tool detection of many projects overlaps
+ * freely, while a global limit on concurrent parses keeps the CPU-bound part from overcommitting the cores.
+ * A failing project never affects the others; its failure is reported in its {@link ProjectDiscoveryResult}.
+ */
+public class ResearchWorkspace {
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of("build", "target", "node_modules", "out", "bin");
+
+    private final ResearchParser researchParser;
+    private final Semaphore parsePermits;
+
+    /**
+     * Creates a workspace that runs at most one parse per available processor at a time.
+     */
+    public ResearchWorkspace() {
+        this(new ResearchParser(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param researchParser The parser used for detection and discovery of each project.
+     * @param maxConcurrentParses The maximum number of projects being parsed at the same time.
+     */
+    public ResearchWorkspace(ResearchParser researchParser, int maxConcurrentParses) {
+        if (maxConcurrentParses < 1) {
+            throw new IllegalArgumentException("Max concurrent parses must be at least 1 but was " + maxConcurrentParses);
+        }
+        this.researchParser = researchParser;
+        this.parsePermits = new Semaphore(maxConcurrentParses);
+    }
+
+    /**
+     * Finds the project roots below the given directory: every directory that a detector registered with
+     * {@link BuildToolDetectorFactory} supports, judged by the providers' cheap probes alone. Directories
+     * below a project root are not searched, as they are modules of that project. Hidden directories and
+     * build output directories are skipped.
+     *
+     * @param workspaceRoot The directory to search.
+     * @return The project roots, in file walk order.
+     * @throws IOException if the directory cannot be walked.
+     */
+    public List<Path> findProjectRoots(Path workspaceRoot) throws IOException {
+        List<Path> projectRoots = new ArrayList<>();
+        Files.walkFileTree(workspaceRoot, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                String name = dir.getFileName() == null ? "" : dir.getFileName().toString();
+                if (!dir.equals(workspaceRoot) && (name.startsWith(".") || SKIPPED_DIRECTORIES.contains(name))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                if (BuildToolDetectorFactory.isSupported(dir)) {
+                    projectRoots.add(dir);
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return projectRoots;
+    }
+
+    /**
+     * Finds the project roots below the given directory and discovers the test cases of each of them.
+     *
+     * @see #findProjectRoots(Path)
+     * @see #discoverAll(List, DiscoveryOptions)
+     */
+    public WorkspaceDiscoveryResult discoverAll(Path workspaceRoot, DiscoveryOptions options) throws IOException {
+        return discoverAll(findProjectRoots(workspaceRoot), options);
+    }
+
+    /**
+     * Runs detection and discovery for every given project concurrently and waits for all of them.
+     * Detection is not limited, while discovery only starts once one of the parse permits is free.
+     * The options apply to every project; keep their parallelism at 1, as the workspace already
+     * parses several projects at once.
+     *
+     * @param projectRoots The root directories of the projects.
+     * @param options The {@link DiscoveryOptions} used for every project.
+     * @return The result of every project, in the order of the given roots.
+     */
+    public WorkspaceDiscoveryResult discoverAll(List<Path> projectRoots, DiscoveryOptions options) {
+        List<ProjectDiscoveryResult> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ProjectDiscoveryResult>> futures = new ArrayList<>();
+            for (Path projectRoot : projectRoots) {
+                futures.add(executor.submit(() -> discoverProject(projectRoot, options)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(awaitProject(projectRoots.get(i), futures.get(i)));
+            }
+        }
+        return new WorkspaceDiscoveryResult(results);
+    }
+
+    private ProjectDiscoveryResult discoverProject(Path projectRoot, DiscoveryOptions options) {
+        long start = System.nanoTime();
+        try {
+            ParserConfig config = researchParser.detectConfig(projectRoot, options);
+            parsePermits.acquire();
+            try {
+                DiscoveryResult result = researchParser.discover(projectRoot, config, options);
+                return ProjectDiscoveryResult.success(projectRoot, result, elapsedMillis(start));
+            } finally {
+                parsePermits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ProjectDiscoveryResult.failure(projectRoot, e, elapsedMillis(start));
+        } catch (Exception e) {
+            System.err.println("Error discovering tests of project: " + projectRoot + " - " + e.getMessage());
+            return ProjectDiscoveryResult.failure(projectRoot, e, elapsedMillis(start));
+        }
+    }
+
+    private ProjectDiscoveryResult awaitProject(Path projectRoot, Future<ProjectDiscoveryResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ProjectDiscoveryResult.failure(projectRoot, e, 0);
+        } catch (ExecutionException e) {
+            // discoverProject catches exceptions itself, so only errors end up here
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            return ProjectDiscoveryResult.failure(projectRoot, e, 0);
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
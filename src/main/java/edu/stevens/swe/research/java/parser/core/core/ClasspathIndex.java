@@ -0,0 +1,108 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Knows which packages each jar on a classpath supplies.
+ * <p>
+ * A jar is indexed by reading the names in its central directory, without inflating any entry. Indexes are
+ * cached for the lifetime of the JVM and shared by every project, keyed by the jar path and checked against
+ * its size and modification time, so a jar is only read again after it changed.
+ */
+public final class ClasspathIndex {
+    private static final String VERSIONS_PREFIX = "META-INF/versions/";
+    private static final Map<Path, IndexedJar> CACHE = new ConcurrentHashMap<>();
+
+    private ClasspathIndex() {
+    }
+
+    /**
+     * Returns the packages that contain at least one class in the given jar, e.g. {@code org.junit.jupiter.api}.
+     * Classes of multi-release jars count for their package regardless of the Java version they are for.
+     *
+     * @param jar The jar file.
+     * @return The packages of the jar.
+     * @throws IOException if the jar cannot be read.
+     */
+    public static Set<String> packagesOf(Path jar) throws IOException {
+        Path key = jar.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        IndexedJar indexed = CACHE.get(key);
+        if (indexed == null || !indexed.matches(attributes)) {
+            indexed = new IndexedJar(attributes, readPackages(key));
+            CACHE.put(key, indexed);
+        }
+        return indexed.packages;
+    }
+
+    /**
+     * Whether the given classpath entry is a jar rather than a class directory.
+     */
+    public static boolean isJar(String classpathEntry) {
+        String lower = classpathEntry.toLowerCase();
+        return lower.endsWith(".jar") || lower.endsWith(".zip");
+    }
+
+    /**
+     * Drops every cached index, e.g. to measure indexing itself.
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    private static Set<String> readPackages(Path jar) throws IOException {
+        Set<String> packages = new HashSet<>();
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (!name.endsWith(".class")) {
+                    continue;
+                }
+                if (name.startsWith(VERSIONS_PREFIX)) {
+                    // META-INF/versions/<release>/<package path>/<class>
+                    int releaseEnd = name.indexOf('/', VERSIONS_PREFIX.length());
+                    if (releaseEnd < 0) {
+                        continue;
+                    }
+                    name = name.substring(releaseEnd + 1);
+                }
+                int lastSlash = name.lastIndexOf('/');
+                if (lastSlash > 0 && !name.startsWith("META-INF/")) {
+                    packages.add(name.substring(0, lastSlash).replace('/', '.'));
+                }
+            }
+        }
+        return Collections.unmodifiableSet(packages);
+    }
+
+    /**
+     * The packages of one jar and the file state they were read from.
+     */
+    private static final class IndexedJar {
+        private final long size;
+        private final long lastModified;
+        private final Set<String> packages;
+
+        private IndexedJar(BasicFileAttributes attributes, Set<String> packages) {
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime().toMillis();
+            this.packages = packages;
+        }
+
+        private boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModified == attributes.lastModifiedTime().toMillis();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import edu.stevens.swe.research.java.parser.core.model.ClasspathPruning;
+import edu.stevens.swe.research.java.parser.core.utils.DebugLog;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Shrinks the classpath of a configuration to the entries the parsed files can actually use.
+ * <p>
+ * The import declarations of the files are collected with a textual scan, and only the jars that supply one of
+ * the imported packages, or the package a file itself is in, are kept. Class directories and JDK libraries are
+ * always kept, as are jars that cannot be indexed. JDT then searches far fewer jars when resolving bindings.
+ * <p>
+ * Types reached only through a kept type, e.g. the superclass of an imported class that lives in another jar,
+ * are not resolved anymore; binding recovery stands in for them. This does not affect which test methods are
+ * found, but bindings of such types are incomplete.
+ */
+public class ClasspathOptimizer {
+    private static final Pattern PACKAGE_DECLARATION = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;", Pattern.MULTILINE);
+    private static final Pattern IMPORT_DECLARATION =
+            Pattern.compile("^\\s*import\\s+(?:static\\s+)?([\\w.]+?)(?:\\s*\\.\\s*\\*)?\\s*;", Pattern.MULTILINE);
+    private static final Set<String> JDK_LIBRARIES = Set.of("jrt-fs.jar", "rt.jar");
+
+    /**
+     * Returns a copy of the configuration whose classpath only holds the entries that supply a package imported
+     * by, or declared in, one of the given files.
+     *
+     * @param config The detected configuration.
+     * @param javaFiles The files that will be parsed with the pruned configuration.
+     * @return The pruned configuration and the {@link ClasspathPruning} statistics.
+     */
+    public Result optimize(ParserConfig config, List<Path> javaFiles) {
+        long start = System.nanoTime();
+        Set<String> packages = collectPackages(config, javaFiles);
+        String[] classpathEntries = config.getClasspathEntries();
+        List<String> kept = new ArrayList<>();
+        for (String entry : classpathEntries) {
+            if (isKept(entry, packages)) {
+                kept.add(entry);
+            }
+        }
+        ParserConfig pruned = new ParserConfig.Builder()
+                .classpath(kept.toArray(new String[0]))
+                .sourcepath(config.getSourcepathEntries())
+                .encodings(config.getEncodings())
+                .complianceLevel(config.getComplianceLevel())
+                .build();
+        ClasspathPruning pruning = new ClasspathPruning(classpathEntries.length, kept.size(), packages.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        DebugLog.debug("Classpath pruned from {} to {} entries for {} imported packages",
+                pruning.getOriginalEntries(), pruning.getKeptEntries(), pruning.getImportedPackages());
+        return new Result(pruned, pruning);
+    }
+
+    /**
+     * Collects the packages imported by, or declared in, the given files. For an import {@code a.b.C.D} every
+     * enclosing name ({@code a}, {@code a.b}, {@code a.b.C}) is a candidate package, as a textual scan cannot
+     * tell packages from outer classes; candidates no jar supplies are simply never matched.
+     *
+     * @param config The configuration whose encodings are used to read the files.
+     * @param javaFiles The files to scan.
+     * @return The candidate package names.
+     */
+    public Set<String> collectPackages(ParserConfig config, List<Path> javaFiles) {
+        SourceReader reader = new SourceReader(config);
+        Set<String> packages = new HashSet<>();
+        for (Path javaFile : javaFiles) {
+            CharSequence source;
+            try {
+                source = CharBuffer.wrap(reader.read(javaFile));
+            } catch (NoSuchFileException e) {
+                continue;
+            } catch (IOException e) {
+                System.err.println("Error reading file: " + javaFile + " - " + e.getMessage());
+                continue;
+            }
+            Matcher packageMatcher = PACKAGE_DECLARATION.matcher(source);
+            if (packageMatcher.find()) {
+                packages.add(packageMatcher.group(1));
+            }
+            Matcher importMatcher = IMPORT_DECLARATION.matcher(source);
+            while (importMatcher.find()) {
+                String name = importMatcher.group(1);
+                // A wildcard import names the package itself; any other import names a type or member inside it
+                boolean wildcard = importMatcher.group(0).contains("*");
+                if (wildcard) {
+                    packages.add(name);
+                }
+                for (int dot = name.indexOf('.'); dot > 0; dot = name.indexOf('.', dot + 1)) {
+                    packages.add(name.substring(0, dot));
+                }
+            }
+        }
+        return Collections.unmodifiableSet(packages);
+    }
+
+    private boolean isKept(String entry, Set<String> packages) {
+        if (entry == null || entry.trim().isEmpty()) {
+            return false;
+        }
+        if (!ClasspathIndex.isJar(entry)) {
+            // Class directories are looked up by path and cost little to keep
+            return true;
+        }
+        Path jar = Paths.get(entry);
+        if (jar.getFileName() != null && JDK_LIBRARIES.contains(jar.getFileName().toString())) {
+            return true;
+        }
+        try {
+            Set<String> jarPackages = ClasspathIndex.packagesOf(jar);
+            Set<String> smaller = jarPackages.size() < packages.size() ? jarPackages : packages;
+            Set<String> larger = smaller == jarPackages ? packages : jarPackages;
+            for (String candidate : smaller) {
+                if (larger.contains(candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (NoSuchFileException e) {
+            // JDT would skip a missing jar anyway
+            return false;
+        } catch (IOException e) {
+            System.err.println("Error indexing classpath entry: " + entry + " - " + e.getMessage() + ", keeping it");
+            return true;
+        }
+    }
+
+    /**
+     * The pruned configuration and how much it shrank.
+     */
+    public static final class Result {
+        private final ParserConfig config;
+        private final ClasspathPruning pruning;
+
+        private Result(ParserConfig config, ClasspathPruning pruning) {
+            this.config = config;
+            this.pruning = pruning;
+        }
+
+        public ParserConfig getConfig() {
+            return config;
+        }
+
+        public ClasspathPruning getPruning() {
+            return pruning;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * A progress monitor that reports itself as canceled once a time limit has passed, so JDT aborts a
+ * createAST or createASTs call with an {@link org.eclipse.core.runtime.OperationCanceledException}
+ * the next time it checks for cancellation. Two limits are tracked: the budget of the file being
+ * parsed and the deadline of the whole discovery, and the monitor tells which one was hit.
+ */
+public class DeadlineProgressMonitor extends NullProgressMonitor {
+    private final long fileDeadlineNanos;
+    private final long globalDeadlineNanos;
+
+    /**
+     * @param fileDeadlineNanos {@link System#nanoTime()} value at which the current file's budget is spent,
+     *                          or {@link Long#MAX_VALUE} for no per-file budget.
+     * @param globalDeadlineNanos {@link System#nanoTime()} value at which discovery must stop,
+     *                            or {@link Long#MAX_VALUE} for no deadline.
+     */
+    public DeadlineProgressMonitor(long fileDeadlineNanos, long globalDeadlineNanos) {
+        this.fileDeadlineNanos = fileDeadlineNanos;
+        this.globalDeadlineNanos = globalDeadlineNanos;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return super.isCanceled() || isFileBudgetExceeded() || isGlobalDeadlineReached();
+    }
+
+    public boolean isFileBudgetExceeded() {
+        return fileDeadlineNanos != Long.MAX_VALUE && System.nanoTime() - fileDeadlineNanos >= 0;
+    }
+
+    public boolean isGlobalDeadlineReached() {
+        return globalDeadlineNanos != Long.MAX_VALUE && System.nanoTime() - globalDeadlineNanos >= 0;
+    }
+}
@@ -0,0 +1,323 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import edu.stevens.swe.research.java.parser.core.model.TestCaseInfo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent cache of the test cases found in each test file, so unchanged files are not parsed again.
+ * <p>
+ * Entries are keyed by absolute path and validated by file size and modification time; when those
+ * differ but the size matches, a SHA-256 hash of the content decides. The hash is computed from the bytes
+ * read for parsing, see {@link #confirm(Probe, ByteBuffer)}. The whole cache is discarded
+ * when the fingerprint of the {@link ParserConfig} and {@link ParseProfile} it was built with changes.
+ * Instances are thread-safe.
+ */
+public class DiscoveryCache {
+    private static final int MAGIC = 0x50435443; // "PCTC"
+    private static final int FORMAT_VERSION = 1;
+    private static final byte[] NO_HASH = new byte[0];
+
+    private final Path cacheFile;
+    private final String configFingerprint;
+    private final Map<String, Entry> previousEntries;
+    private final Map<String, Entry> currentEntries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private DiscoveryCache(Path cacheFile, String configFingerprint, Map<String, Entry> previousEntries) {
+        this.cacheFile = cacheFile;
+        this.configFingerprint = configFingerprint;
+        this.previousEntries = previousEntries;
+    }
+
+    /**
+     * Opens the cache of the given project in the cache directory. A missing, unreadable or
+     * outdated cache file yields an empty cache.
+     *
+     * @param cacheDirectory Directory holding the cache files.
+     * @param projectRoot The root directory of the project whose test files are cached.
+     * @param configFingerprint Fingerprint of the configuration the results depend on.
+     * @return The opened cache.
+     */
+    public static DiscoveryCache open(Path cacheDirectory, Path projectRoot, String configFingerprint) {
+        String projectKey = sha256Hex(projectRoot.toAbsolutePath().normalize().toString()).substring(0, 16);
+        Path cacheFile = cacheDirectory.resolve("test-discovery-" + projectKey + ".cache");
+        Map<String, Entry> entries = Collections.emptyMap();
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                entries = read(cacheFile, configFingerprint);
+            } catch (IOException e) {
+                System.err.println("Ignoring unreadable discovery cache: " + cacheFile + " - " + e.getMessage());
+            }
+        }
+        return new DiscoveryCache(cacheFile, configFingerprint, entries);
+    }
+
+    /**
+     * Computes the fingerprint of everything discovery results depend on besides the file content.
+     */
+    public static String fingerprint(ParserConfig config, ParseProfile profile) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("format=").append(FORMAT_VERSION).append('\n');
+        sb.append("profile=").append(profile).append('\n');
+        sb.append("config=").append(config.fingerprint()).append('\n');
+        return sha256Hex(sb.toString());
+    }
+
+    /**
+     * Checks the cache for the given file by its size and modification time. The file is not read: when
+     * those differ but the size matches, the probe is left undecided until the caller has read the file
+     * and hands its content to {@link #confirm(Probe, ByteBuffer)}.
+     *
+     * @param javaFile The test source file.
+     * @return The probe, holding the cached test cases on a hit.
+     * @throws IOException if the attributes of the file cannot be read.
+     */
+    public Probe probe(Path javaFile) throws IOException {
+        // Same spelling as the path TestAstVisitor records, so cached results are indistinguishable
+        String key = javaFile.toAbsolutePath().toString();
+        BasicFileAttributes attributes = Files.readAttributes(javaFile, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        Entry entry = currentEntries.get(key);
+        if (entry == null) {
+            entry = previousEntries.get(key);
+        }
+        if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+            currentEntries.put(key, entry);
+            hits.incrementAndGet();
+            return new Probe(key, size, lastModified, entry.contentHash, entry.testCases(key), null);
+        }
+        if (entry != null && entry.size == size) {
+            // Possibly touched but unchanged; only the content can tell
+            return new Probe(key, size, lastModified, null, null, entry);
+        }
+        misses.incrementAndGet();
+        return new Probe(key, size, lastModified, null, null, null);
+    }
+
+    /**
+     * Hashes the content of a probed file that missed, so the hash is stored with its test cases, and
+     * decides an undecided probe. The content is the bytes the caller read to parse the file, so a
+     * miss never reads the file a second time.
+     *
+     * @param probe A probe that missed.
+     * @param content The content of the file; the buffer is not consumed.
+     * @return The cached test cases if the file was touched but its content is unchanged, otherwise null.
+     */
+    public List<TestCaseInfo> confirm(Probe probe, ByteBuffer content) {
+        probe.contentHash = sha256(content.duplicate());
+        Entry candidate = probe.candidate;
+        if (candidate == null) {
+            return null;
+        }
+        probe.candidate = null;
+        if (candidate.size == content.remaining() && Arrays.equals(candidate.contentHash, probe.contentHash)) {
+            // Touched but unchanged; remember the new timestamp so the next run skips the hash
+            currentEntries.put(probe.key, new Entry(probe.size, probe.lastModified, probe.contentHash, candidate.testNames));
+            hits.incrementAndGet();
+            return candidate.testCases(probe.key);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Records the test cases found for a probed file. The file state captured by the probe is stored,
+     * so a file modified while it was being parsed is parsed again next time.
+     */
+    public void store(Probe probe, List<TestCaseInfo> testCases) {
+        String[] testNames = new String[testCases.size() * 2];
+        for (int i = 0; i < testCases.size(); i++) {
+            testNames[2 * i] = testCases.get(i).getClassName();
+            testNames[2 * i + 1] = testCases.get(i).getMethodName();
+        }
+        // A file stored without its content being hashed is reparsed whenever its timestamp changes
+        byte[] contentHash = probe.contentHash != null ? probe.contentHash : NO_HASH;
+        currentEntries.put(probe.key, new Entry(probe.size, probe.lastModified, contentHash, testNames));
+    }
+
+    /**
+     * Writes the entries probed during this run back to disk, dropping entries of files that were
+     * not seen. Use {@link #save(boolean)} with {@code true} to keep them after a partial run.
+     * Failures are reported and otherwise ignored, as the cache is only an optimisation.
+     */
+    public void save() {
+        save(false);
+    }
+
+    /**
+     * Writes the cache back to disk.
+     *
+     * @param keepUnseenEntries Whether entries of files not probed during this run are kept,
+     *                          e.g. because discovery stopped before seeing every file.
+     */
+    public void save(boolean keepUnseenEntries) {
+        Map<String, Entry> entries = new HashMap<>();
+        if (keepUnseenEntries) {
+            entries.putAll(previousEntries);
+        }
+        entries.putAll(currentEntries);
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try {
+                write(tempFile, entries);
+                Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing discovery cache: " + cacheFile + " - " + e.getMessage());
+        }
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public Path getCacheFile() { return cacheFile; }
+
+    private static Map<String, Entry> read(Path cacheFile, String configFingerprint) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !configFingerprint.equals(in.readUTF())) {
+                return Collections.emptyMap();
+            }
+            int entryCount = in.readInt();
+            Map<String, Entry> entries = new HashMap<>(entryCount * 2);
+            for (int i = 0; i < entryCount; i++) {
+                String key = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                byte[] contentHash = new byte[in.readUnsignedByte()];
+                in.readFully(contentHash);
+                String[] testNames = new String[in.readInt() * 2];
+                for (int j = 0; j < testNames.length; j++) {
+                    testNames[j] = in.readUTF();
+                }
+                entries.put(key, new Entry(size, lastModified, contentHash, testNames));
+            }
+            return entries;
+        } catch (NoSuchFileException e) {
+            return Collections.emptyMap();
+        }
+    }
+
+    private void write(Path file, Map<String, Entry> entries) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(configFingerprint);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                out.writeUTF(e.getKey());
+                out.writeLong(entry.size);
+                out.writeLong(entry.lastModified);
+                out.writeByte(entry.contentHash.length);
+                out.write(entry.contentHash);
+                out.writeInt(entry.testNames.length / 2);
+                for (String name : entry.testNames) {
+                    out.writeUTF(name);
+                }
+            }
+        }
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static byte[] sha256(ByteBuffer content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String sha256Hex(String value) {
+        return HexFormat.of().formatHex(sha256(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * The outcome of checking one file against the cache.
+     */
+    public static final class Probe {
+        private final String key;
+        private final long size;
+        private final long lastModified;
+        private final List<TestCaseInfo> cachedTestCases;
+        // Set by confirm; a probe belongs to the single thread that parses its file
+        private byte[] contentHash;
+        private Entry candidate;
+
+        private Probe(String key, long size, long lastModified, byte[] contentHash, List<TestCaseInfo> cachedTestCases,
+                      Entry candidate) {
+            this.key = key;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+            this.cachedTestCases = cachedTestCases;
+            this.candidate = candidate;
+        }
+
+        public boolean isHit() { return cachedTestCases != null; }
+        /** Whether the file must be read and passed to {@link #confirm(Probe, ByteBuffer)} before it is parsed. */
+        public boolean isUndecided() { return candidate != null; }
+        public List<TestCaseInfo> getCachedTestCases() { return cachedTestCases; }
+    }
+
+    /**
+     * A cached file: its state when parsed and the class/method name pairs of its test cases.
+     */
+    private static final class Entry {
+        private final long size;
+        private final long lastModified;
+        private final byte[] contentHash;
+        private final String[] testNames;
+
+        private Entry(long size, long lastModified, byte[] contentHash, String[] testNames) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+            this.testNames = testNames;
+        }
+
+        private List<TestCaseInfo> testCases(String absolutePath) {
+            List<TestCaseInfo> testCases = new ArrayList<>(testNames.length / 2);
+            for (int i = 0; i < testNames.length; i += 2) {
+                testCases.add(new TestCaseInfo(testNames[i], testNames[i + 1], absolutePath));
+            }
+            return testCases;
+        }
+    }
+}
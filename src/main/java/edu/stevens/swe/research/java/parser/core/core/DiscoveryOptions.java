@@ -0,0 +1,234 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Options controlling how test discovery parses the test files of a project.
+ * Instances are immutable; use {@link Builder} to create them.
+ */
+public class DiscoveryOptions {
+    private final int parallelism;
+    private final boolean deterministicOrder;
+    private final boolean batchParsing;
+    private final ParseProfile parseProfile;
+    private final Path cacheDirectory;
+    private final boolean preFilter;
+    private final long heapBudget;
+    private final Duration fileTimeout;
+    private final Duration deadline;
+    private final List<String> excludes;
+    private final boolean parallelWalk;
+    private final boolean classpathPruning;
+    private final boolean detectionCache;
+
+    private DiscoveryOptions(Builder builder) {
+        this.parallelism = builder.parallelism;
+        this.deterministicOrder = builder.deterministicOrder;
+        this.batchParsing = builder.batchParsing;
+        this.parseProfile = builder.parseProfile;
+        this.cacheDirectory = builder.cacheDirectory;
+        this.preFilter = builder.preFilter;
+        this.heapBudget = builder.heapBudget;
+        this.fileTimeout = builder.fileTimeout;
+        this.deadline = builder.deadline;
+        this.excludes = Collections.unmodifiableList(new ArrayList<>(builder.excludes));
+        this.parallelWalk = builder.parallelWalk;
+        this.classpathPruning = builder.classpathPruning;
+        this.detectionCache = builder.detectionCache;
+    }
+
+    /**
+     * Returns the default options: sequential discovery in file walk order.
+     */
+    public static DiscoveryOptions defaults() {
+        return new Builder().build();
+    }
+
+    // Builder pattern implementation
+    public static class Builder {
+        private int parallelism = 1;
+        private boolean deterministicOrder = true;
+        private boolean batchParsing = false;
+        private ParseProfile parseProfile = ParseProfile.FULL_BINDINGS;
+        private Path cacheDirectory;
+        private boolean preFilter = true;
+        private long heapBudget = 0;
+        private Duration fileTimeout;
+        private Duration deadline;
+        private List<String> excludes = new ArrayList<>();
+        private boolean parallelWalk = false;
+        private boolean classpathPruning = false;
+        private boolean detectionCache = false;
+
+        /**
+         * Number of worker threads used to parse test files. Each worker owns its own ASTParser.
+         * A value of 1 keeps the sequential single-parser behaviour.
+         */
+        public Builder parallelism(int workers) {
+            if (workers < 1) {
+                throw new IllegalArgumentException("Parallelism must be at least 1 but was " + workers);
+            }
+            this.parallelism = workers;
+            return this;
+        }
+
+        /**
+         * Whether results must be returned in file walk order, exactly as the sequential path does.
+         * When disabled, parallel workers publish results in completion order.
+         */
+        public Builder deterministicOrder(boolean deterministic) {
+            this.deterministicOrder = deterministic;
+            return this;
+        }
+
+        /**
+         * Whether test files are handed to ASTParser.createASTs in one batch, so a single lookup
+         * environment resolves bindings for the whole set instead of being rebuilt for every file.
+         * With a parallelism greater than one, each worker batch-parses its own slice of the files.
+         * Batch results are always returned in file walk order.
+         */
+        public Builder batchParsing(boolean batch) {
+            this.batchParsing = batch;
+            return this;
+        }
+
+        /**
+         * The parse profile. {@link ParseProfile#FAST_SYNTAX} skips build tool detection and
+         * binding resolution entirely and only locates tests by their declarations.
+         */
+        public Builder parseProfile(ParseProfile profile) {
+            if (profile == null) {
+                throw new IllegalArgumentException("Parse profile must not be null");
+            }
+            this.parseProfile = profile;
+            return this;
+        }
+
+        /**
+         * Directory of the persistent discovery cache. When set, files unchanged since the previous
+         * run are not parsed again. {@code null}, the default, disables the cache.
+         */
+        public Builder cacheDirectory(Path directory) {
+            this.cacheDirectory = directory;
+            return this;
+        }
+
+        /**
+         * Whether files are scanned for the tokens of a test annotation before they are parsed, so
+         * helpers and fixtures that cannot declare a test are skipped. The scan never skips a file
+         * that declares a test. Enabled by default.
+         */
+        public Builder preFilter(boolean enabled) {
+            this.preFilter = enabled;
+            return this;
+        }
+
+        /**
+         * Heap budget in bytes for bounded-memory discovery. When set, test files are walked lazily and
+         * parsed in chunks, each with one ASTParser.createASTs call whose lookup environment is dropped
+         * before the next chunk. Chunks are sized so the heap occupancy after garbage collection stays near
+         * the budget; the chunk size adapts to the budget, it is not a hard cap. Parallelism does not apply.
+         * 0, the default, disables bounded-memory discovery.
+         */
+        public Builder heapBudget(long bytes) {
+            if (bytes < 0) {
+                throw new IllegalArgumentException("Heap budget must not be negative but was " + bytes);
+            }
+            this.heapBudget = bytes;
+            return this;
+        }
+
+        /**
+         * Time budget for parsing a single file. JDT is asked to cancel a file that exceeds it; the file is
+         * skipped and reported in {@link edu.stevens.swe.research.java.parser.core.model.DiscoveryResult#getTimedOutFiles()}.
+         * Batch parsing and bounded-memory discovery hand many files to JDT at once and are only subject
+         * to the deadline.
+         * {@code null}, the default, means no budget.
+         */
+        public Builder fileTimeout(Duration timeout) {
+            this.fileTimeout = requirePositive(timeout, "File timeout");
+            return this;
+        }
+
+        /**
+         * Overall deadline of a discovery run, counted from its start. When it is reached, parsing stops
+         * and the test cases found so far are returned as a partial result.
+         * {@code null}, the default, means no deadline.
+         */
+        public Builder deadline(Duration deadline) {
+            this.deadline = requirePositive(deadline, "Deadline");
+            return this;
+        }
+
+        /**
+         * Glob patterns of directories to leave out when walking the test roots, in addition to
+         * {@code build}, {@code target}, {@code .git} and {@code node_modules}, which are always pruned.
+         * A glob matches the directory path relative to the project root or the directory name.
+         */
+        public Builder excludes(String... globs) {
+            this.excludes = new ArrayList<>(Arrays.asList(globs));
+            return this;
+        }
+
+        /**
+         * Whether disjoint test roots are walked in parallel. Only pays off for projects with many roots,
+         * e.g. one per module. Bounded-memory discovery always walks lazily, one root after the other.
+         */
+        public Builder parallelWalk(boolean parallel) {
+            this.parallelWalk = parallel;
+            return this;
+        }
+
+        /**
+         * Whether the classpath handed to the parser is pruned to the jars that supply a package imported by
+         * the test files, see {@link ClasspathOptimizer}. Applies to {@link ParseProfile#FULL_BINDINGS} when
+         * the test files are collected up front, i.e. not to streams or bounded-memory discovery. Disabled by default.
+         */
+        public Builder classpathPruning(boolean enabled) {
+            this.classpathPruning = enabled;
+            return this;
+        }
+
+        /**
+         * Whether detected configurations are cached in the {@link #cacheDirectory(Path) cache directory}, keyed
+         * by the project's build files, so an unchanged project is not detected again. Has no effect without a
+         * cache directory. Disabled by default.
+         */
+        public Builder detectionCache(boolean enabled) {
+            this.detectionCache = enabled;
+            return this;
+        }
+
+        private static Duration requirePositive(Duration duration, String name) {
+            if (duration != null && (duration.isNegative() || duration.isZero())) {
+                throw new IllegalArgumentException(name + " must be positive but was " + duration);
+            }
+            return duration;
+        }
+
+        public DiscoveryOptions build() {
+            return new DiscoveryOptions(this);
+        }
+    }
+
+    // Getters
+    public int getParallelism() { return parallelism; }
+    public boolean isDeterministicOrder() { return deterministicOrder; }
+    public boolean isBatchParsing() { return batchParsing; }
+    public ParseProfile getParseProfile() { return parseProfile; }
+    public Path getCacheDirectory() { return cacheDirectory; }
+    public boolean isPreFilter() { return preFilter; }
+    public long getHeapBudget() { return heapBudget; }
+    public boolean isBoundedMemory() { return heapBudget > 0; }
+    public Duration getFileTimeout() { return fileTimeout; }
+    public Duration getDeadline() { return deadline; }
+    public List<String> getExcludes() { return excludes; }
+    public boolean isParallelWalk() { return parallelWalk; }
+    public boolean isClasspathPruning() { return classpathPruning; }
+    public boolean isDetectionCache() { return detectionCache; }
+}
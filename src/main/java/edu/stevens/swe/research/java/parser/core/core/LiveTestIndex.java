@@ -0,0 +1,436 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import edu.stevens.swe.research.java.parser.core.model.TestCaseInfo;
+import org.eclipse.jdt.core.dom.ASTParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An in-memory index of the test cases of a project that keeps itself up to date as test files change.
+ * <p>
+ * {@link #start()} watches every directory below the test roots with a {@link WatchService} and then runs
+ * a full discovery once; changes made while it runs are queued as events, so none is lost. Files the
+ * discovery did not finish, because of its deadline or the per-file budget, are left out of the index and
+ * retried by a background thread, which then reparses only the files that were created or modified and
+ * drops the entries of deleted files; if the watch service overflows, the roots are rescanned and only files
+ * whose size or modification time changed are reparsed. Queries never touch the file system: they return an
+ * immutable snapshot that is rebuilt after each batch of changes. If the index cannot be brought up to date,
+ * queries throw until it can, see {@link #isFailed()}.
+ */
+public class LiveTestIndex implements Closeable {
+    private static final long EVENT_SETTLE_MILLIS = 50;
+
+    private final Path projectRoot;
+    private final ASTProcessor astProcessor;
+    private final DiscoveryOptions options;
+    private final TestDiscoverer discoverer;
+    private final SourceWalker walker;
+    private final ConcurrentSkipListMap<Path, IndexedFile> files = new ConcurrentSkipListMap<>();
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private final List<Path> testRoots = new ArrayList<>();
+    private volatile List<TestCaseInfo> snapshot = Collections.emptyList();
+    private volatile long generation;
+    private volatile RuntimeException failure;
+    private WatchService watchService;
+    private Thread watcherThread;
+    private ASTParser parser;
+    private SourceReader reader;
+
+    /**
+     * @param projectRoot The root directory of the project.
+     * @param astProcessor Creates the parsers, configured with the detected configuration of the project.
+     * @param options The options of the initial full discovery. Later changes are parsed one file at a time.
+     */
+    public LiveTestIndex(Path projectRoot, ASTProcessor astProcessor, DiscoveryOptions options) {
+        this.projectRoot = projectRoot;
+        this.astProcessor = astProcessor;
+        this.options = options;
+        this.discoverer = new TestDiscoverer(astProcessor, options);
+        this.walker = new SourceWalker(projectRoot, options.getExcludes());
+    }
+
+    /**
+     * Starts watching the test roots and runs the initial discovery.
+     *
+     * @throws IOException if the test roots cannot be walked or watched.
+     */
+    public synchronized void start() throws IOException {
+        if (watchService != null) {
+            throw new IllegalStateException("Live test index is already started");
+        }
+        List<Path> testJavaFiles = TestSourceLocator.findTestJavaFiles(projectRoot, astProcessor.getConfig(), options);
+
+        // Watch the roots discovery uses: the configured ones, or the default one it falls back to
+        List<Path> configuredRoots = TestSourceLocator.findConfiguredTestRoots(projectRoot, astProcessor.getConfig());
+        for (Path root : configuredRoots) {
+            testRoots.add(key(root));
+        }
+        boolean usedConfiguredRoots = testJavaFiles.stream().map(this::key).anyMatch(this::isUnderTestRoot);
+        if (!usedConfiguredRoots) {
+            testRoots.clear();
+            Path defaultRoot = TestSourceLocator.getDefaultTestRoot(projectRoot);
+            if (Files.isDirectory(defaultRoot)) {
+                testRoots.add(key(defaultRoot));
+            }
+        }
+
+        // Watch before discovering, so changes made while the discovery runs are queued for the watcher thread
+        watchService = projectRoot.getFileSystem().newWatchService();
+        List<Path> watchedFiles = new ArrayList<>();
+        Set<Path> unfinished = new LinkedHashSet<>();
+        try {
+            for (Path root : testRoots) {
+                registerAll(root, watchedFiles);
+            }
+
+            Map<Path, List<TestCaseInfo>> discovered = discoverer.discoverByFile(testJavaFiles);
+            for (Map.Entry<Path, List<TestCaseInfo>> entry : discovered.entrySet()) {
+                Path key = key(entry.getKey());
+                try {
+                    files.put(key, new IndexedFile(Files.readAttributes(key, BasicFileAttributes.class), entry.getValue()));
+                } catch (IOException e) {
+                    // Deleted since it was found; its deletion is queued for the watcher
+                }
+            }
+
+            // Files a time limit kept from being finished, and files created after they were located but
+            // before their directory was watched, which raise no event
+            for (Path javaFile : testJavaFiles) {
+                if (!discovered.containsKey(javaFile)) {
+                    unfinished.add(key(javaFile));
+                }
+            }
+            for (Path javaFile : watchedFiles) {
+                if (!files.containsKey(key(javaFile))) {
+                    unfinished.add(key(javaFile));
+                }
+            }
+            parser = astProcessor.createParser();
+            reader = new SourceReader(astProcessor.getConfig());
+        } catch (IOException | RuntimeException e) {
+            watchService.close();
+            watchService = null;
+            throw e;
+        }
+        publishSnapshot();
+
+        // The watcher parses the unfinished files first, so start() keeps to the deadline of the options
+        watcherThread = new Thread(() -> watch(unfinished), "parser-core-live-index");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Returns all indexed test cases, ordered by file path and then by declaration order.
+     * The returned list is an immutable snapshot.
+     *
+     * @throws IllegalStateException if the index failed to apply the latest changes, see {@link #isFailed()}.
+     */
+    public List<TestCaseInfo> getTestCases() {
+        checkNotFailed();
+        return snapshot;
+    }
+
+    /**
+     * Returns the indexed test cases declared in the given file, or an empty list if it is not indexed.
+     *
+     * @throws IllegalStateException if the index failed to apply the latest changes, see {@link #isFailed()}.
+     */
+    public List<TestCaseInfo> getTestCases(Path javaFile) {
+        checkNotFailed();
+        IndexedFile indexed = files.get(key(javaFile));
+        return indexed == null ? Collections.emptyList() : indexed.testCases;
+    }
+
+    /**
+     * Whether the index failed to apply the latest changes and may be out of date. It recovers if a later
+     * change is applied, unless the watcher thread stopped; a failed index is best closed and started afresh.
+     */
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * Returns the number of indexed test files, including those that declare no test.
+     */
+    public int getFileCount() {
+        return files.size();
+    }
+
+    /**
+     * Returns a counter that increases every time the index has applied a batch of changes.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Stops watching the test roots. The index keeps answering queries with its last snapshot.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService == null) {
+            return;
+        }
+        watchService.close();
+        if (watcherThread != null && watcherThread != Thread.currentThread()) {
+            try {
+                watcherThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void watch(Set<Path> unfinished) {
+        try {
+            if (!unfinished.isEmpty()) {
+                applyBatch(() -> unfinished.forEach(this::reparse));
+            }
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                // Editors often write a file in several steps, so let the burst settle and handle it as one batch
+                Thread.sleep(EVENT_SETTLE_MILLIS);
+                Map<Path, Boolean> changed = new LinkedHashMap<>();
+                boolean overflow = false;
+                do {
+                    overflow |= collectChanges(watchKey, changed);
+                } while ((watchKey = watchService.poll()) != null);
+
+                // Changes of a failed batch may be lost, so rescan after one
+                if (overflow || failure != null) {
+                    applyBatch(this::rescan);
+                } else {
+                    applyBatch(() -> changed.forEach(this::applyChange));
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Closed by close()
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failure = e;
+            System.err.println("Live test index of " + projectRoot + " stopped watching - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Applies one batch of changes and publishes the result. A batch that fails is reported and followed by a
+     * rescan; if that fails as well, queries report the failure until a later batch succeeds.
+     */
+    private void applyBatch(Runnable batch) {
+        try {
+            batch.run();
+            failure = null;
+        } catch (RuntimeException e) {
+            System.err.println("Error updating live test index of " + projectRoot + " - " + e.getMessage()
+                    + ", rescanning");
+            try {
+                rescan();
+                failure = null;
+            } catch (RuntimeException rescanFailure) {
+                System.err.println("Error rescanning live test index of " + projectRoot + " - " + rescanFailure.getMessage());
+                failure = rescanFailure;
+            }
+        }
+        publishSnapshot();
+    }
+
+    private void checkNotFailed() {
+        RuntimeException cause = failure;
+        if (cause != null) {
+            throw new IllegalStateException("Live test index of " + projectRoot + " is out of date - "
+                    + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Collects the changed paths of a watch key, recording for each whether it was created.
+     *
+     * @return Whether events were lost and the roots must be rescanned.
+     */
+    private boolean collectChanges(WatchKey watchKey, Map<Path, Boolean> changed) {
+        Path directory = watchedDirectories.get(watchKey);
+        boolean overflow = false;
+        for (WatchEvent<?> event : watchKey.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                overflow = true;
+            } else {
+                changed.merge(directory.resolve((Path) event.context()),
+                        event.kind() == StandardWatchEventKinds.ENTRY_CREATE, Boolean::logicalOr);
+            }
+        }
+        if (!watchKey.reset()) {
+            watchedDirectories.remove(watchKey);
+        }
+        return overflow;
+    }
+
+    /**
+     * Brings the index in line with the current state of a path that was reported as created, modified or deleted.
+     */
+    private void applyChange(Path path, boolean created) {
+        if (Files.isDirectory(path)) {
+            if (!created || walker.isPruned(path)) {
+                // Some platforms report a directory as modified when its entries change; those are reported themselves
+                return;
+            }
+            // A new (or moved in) directory: watch it and index whatever it already contains
+            try {
+                registerAll(path, new ArrayList<>()).forEach(this::reparse);
+            } catch (IOException e) {
+                System.err.println("Error watching directory: " + path + " - " + e.getMessage());
+            }
+        } else if (Files.isRegularFile(path)) {
+            if (path.toString().endsWith(".java")) {
+                reparse(path);
+            }
+        } else {
+            // Deleted: drop the file itself, or everything below a deleted directory
+            Path key = key(path);
+            files.keySet().removeIf(file -> file.startsWith(key));
+        }
+    }
+
+    private void reparse(Path javaFile) {
+        Path key = key(javaFile);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+            List<TestCaseInfo> found = discoverer.parseFile(parser, reader, key);
+            if (found == null) {
+                // Exceeded the per-file budget; left out so the next change or rescan tries again
+                files.remove(key);
+                return;
+            }
+            files.put(key, new IndexedFile(attributes, found));
+        } catch (NoSuchFileException e) {
+            files.remove(key);
+        } catch (IOException e) {
+            System.err.println("Error reading file: " + javaFile + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recovers from lost events: re-registers every directory and reparses files that are new or whose
+     * size or modification time changed, then drops files that no longer exist.
+     */
+    private void rescan() {
+        Set<Path> seen = new LinkedHashSet<>();
+        for (Path root : testRoots) {
+            try {
+                for (Path javaFile : registerAll(root, new ArrayList<>())) {
+                    Path key = key(javaFile);
+                    seen.add(key);
+                    IndexedFile indexed = files.get(key);
+                    BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+                    if (indexed == null || !indexed.matches(attributes)) {
+                        reparse(key);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error rescanning test root: " + root + " - " + e.getMessage());
+            }
+        }
+        files.keySet().retainAll(seen);
+    }
+
+    /**
+     * Registers the directory and all directories below it with the watch service.
+     *
+     * @param javaFiles Receives the Java files found while walking, or {@code null} if they are not needed.
+     * @return The given list of Java files.
+     */
+    private List<Path> registerAll(Path start, List<Path> javaFiles) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(start) && walker.isPruned(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                WatchKey watchKey = dir.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirectories.put(watchKey, key(dir));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (javaFiles != null && attrs.isRegularFile() && file.toString().endsWith(".java")) {
+                    javaFiles.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return javaFiles;
+    }
+
+    private void publishSnapshot() {
+        List<TestCaseInfo> testCases = new ArrayList<>();
+        for (IndexedFile indexed : files.values()) {
+            testCases.addAll(indexed.testCases);
+        }
+        snapshot = Collections.unmodifiableList(testCases);
+        generation++;
+    }
+
+    private boolean isUnderTestRoot(Path key) {
+        for (Path root : testRoots) {
+            if (key.startsWith(root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Path key(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    /**
+     * The test cases of one file and the file state they were parsed from.
+     */
+    private static final class IndexedFile {
+        private final long size;
+        private final long lastModified;
+        private final List<TestCaseInfo> testCases;
+
+        private IndexedFile(BasicFileAttributes attributes, List<TestCaseInfo> testCases) {
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime().toMillis();
+            this.testCases = Collections.unmodifiableList(new ArrayList<>(testCases));
+        }
+
+        private boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModified == attributes.lastModifiedTime().toMillis();
+        }
+    }
+}
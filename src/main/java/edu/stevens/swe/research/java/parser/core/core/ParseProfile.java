@@ -0,0 +1,19 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+/**
+ * Selects how much work the ASTParser does for each compilation unit.
+ */
+public enum ParseProfile {
+    /**
+     * Syntax only: no build tool classpath detection, no binding resolution or recovery,
+     * method bodies skipped and javadoc/task-tag processing turned off. Enough for
+     * {@link edu.stevens.swe.research.java.parser.core.visitor.TestAstVisitor}, which only
+     * looks at declarations and annotation names.
+     */
+    FAST_SYNTAX,
+
+    /**
+     * Full parse with binding resolution against the detected classpath and sourcepath.
+     */
+    FULL_BINDINGS
+}
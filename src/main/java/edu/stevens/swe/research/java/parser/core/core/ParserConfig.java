@@ -1,47 +1,285 @@
 package edu.stevens.swe.research.java.parser.core.core;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
-public class ParserConfig {
-    private final List<String> classpathEntries = new ArrayList<>();
-    private final List<String> sourcepathEntries = new ArrayList<>();
-    private final List<String> encodings = new ArrayList<>();
-    private String complianceLevel;
+/**
+ * The environment a project's sources are parsed in. Instances are immutable values: entries are
+ * deduplicated and interned once when the config is built, and the getters return copies of the arrays,
+ * so callers cannot change a config that may be shared through caches.
+ * <p>
+ * Two configs with the same content are equal and have the same {@link #fingerprint()}, so a config can key
+ * caches in this process, on disk or on other machines. {@link #toBytes()} writes a compact binary form.
+ */
+public final class ParserConfig {
+    private static final int FORMAT_VERSION = 1;
+    private static final String[] EMPTY = new String[0];
+
+    private final String[] classpathEntries;
+    private final String[] sourcepathEntries;
+    private final String[] encodings;
+    private final String complianceLevel;
+    private final int hashCode;
+    private volatile String fingerprint;
+
+    private ParserConfig(String[] classpathEntries, String[] sourcepathEntries, String[] encodings, String complianceLevel) {
+        this.classpathEntries = classpathEntries;
+        this.sourcepathEntries = sourcepathEntries;
+        this.encodings = encodings;
+        this.complianceLevel = complianceLevel == null ? null : complianceLevel.intern();
+        this.hashCode = Objects.hash(Arrays.hashCode(classpathEntries), Arrays.hashCode(sourcepathEntries),
+                Arrays.hashCode(encodings), complianceLevel);
+    }
 
     // Builder pattern implementation
     public static class Builder {
-        private final ParserConfig config = new ParserConfig();
+        private final List<String> classpathEntries = new ArrayList<>();
+        private final List<String> sourcepathEntries = new ArrayList<>();
+        private final List<String> encodings = new ArrayList<>();
+        private String complianceLevel;
 
         public Builder classpath(String... entries) {
-            config.classpathEntries.addAll(Arrays.asList(entries));
+            classpathEntries.addAll(Arrays.asList(entries));
             return this;
         }
 
         public Builder sourcepath(String... entries) {
-            config.sourcepathEntries.addAll(Arrays.asList(entries));
+            sourcepathEntries.addAll(Arrays.asList(entries));
             return this;
         }
 
         public Builder encodings(String... encodings) {
-            config.encodings.addAll(Arrays.asList(encodings));
+            this.encodings.addAll(Arrays.asList(encodings));
             return this;
         }
 
         public Builder complianceLevel(String level) {
-            config.complianceLevel = level;
+            complianceLevel = level;
             return this;
         }
 
+        /**
+         * Builds the config. Null entries are dropped and repeated classpath entries are kept only where they
+         * first appear, so the classpath keeps its lookup order. When there is one encoding per sourcepath
+         * entry, repeated sourcepath entries are dropped along with their encodings; otherwise the sourcepath
+         * is kept as given, so dropping entries can never pair the encodings with the wrong entries.
+         */
         public ParserConfig build() {
-            return config;
+            String[] sourcepath;
+            String[] encodingArray;
+            if (encodings.size() == sourcepathEntries.size()) {
+                Map<String, String> encodingBySourcepath = new LinkedHashMap<>();
+                for (int i = 0; i < sourcepathEntries.size(); i++) {
+                    if (sourcepathEntries.get(i) != null) {
+                        encodingBySourcepath.putIfAbsent(sourcepathEntries.get(i), encodings.get(i));
+                    }
+                }
+                sourcepath = intern(encodingBySourcepath.keySet());
+                encodingArray = intern(encodingBySourcepath.values());
+            } else {
+                sourcepath = intern(sourcepathEntries);
+                encodingArray = intern(encodings);
+            }
+            return new ParserConfig(intern(new LinkedHashSet<>(classpathEntries)), sourcepath, encodingArray, complianceLevel);
+        }
+
+        private static String[] intern(Iterable<String> entries) {
+            List<String> interned = new ArrayList<>();
+            for (String entry : entries) {
+                if (entry != null) {
+                    interned.add(entry.intern());
+                }
+            }
+            return interned.isEmpty() ? EMPTY : interned.toArray(EMPTY);
+        }
+    }
+
+    /**
+     * Returns a SHA-256 hex digest of the binary form of this config. It only depends on the content, so it
+     * is the same in every process and across restarts.
+     */
+    public String fingerprint() {
+        String result = fingerprint;
+        if (result == null) {
+            try {
+                result = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(toBytes()));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the binary form of this config, see {@link #writeTo(DataOutput)}.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a config written by {@link #toBytes()}.
+     *
+     * @throws IOException if the bytes are not a config in a known format.
+     */
+    public static ParserConfig fromBytes(byte[] bytes) throws IOException {
+        return readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    /**
+     * Writes this config in a compact binary form. Entries are front-coded: each one stores only the length of
+     * the prefix it shares with the entry before it and the rest of its UTF-8 bytes, which removes the local
+     * repository directory repeated by almost every classpath entry.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        writeVarInt(out, FORMAT_VERSION);
+        out.writeBoolean(complianceLevel != null);
+        if (complianceLevel != null) {
+            out.writeUTF(complianceLevel);
         }
+        writeEntries(out, classpathEntries);
+        writeEntries(out, sourcepathEntries);
+        writeEntries(out, encodings);
+    }
+
+    /**
+     * Reads a config written by {@link #writeTo(DataOutput)}.
+     *
+     * @throws IOException if the input cannot be read or is not a config in a known format.
+     */
+    public static ParserConfig readFrom(DataInput in) throws IOException {
+        int version = readVarInt(in);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported parser config format: " + version);
+        }
+        String complianceLevel = in.readBoolean() ? in.readUTF() : null;
+        return new Builder()
+                .classpath(readEntries(in))
+                .sourcepath(readEntries(in))
+                .encodings(readEntries(in))
+                .complianceLevel(complianceLevel)
+                .build();
+    }
+
+    private static void writeEntries(DataOutput out, String[] entries) throws IOException {
+        writeVarInt(out, entries.length);
+        byte[] previous = new byte[0];
+        for (String entry : entries) {
+            byte[] current = entry.getBytes(StandardCharsets.UTF_8);
+            int shared = Arrays.mismatch(previous, current);
+            if (shared < 0) {
+                shared = current.length;
+            }
+            // Only split between characters, so every suffix is valid UTF-8 on its own
+            while (shared > 0 && shared < current.length && (current[shared] & 0xC0) == 0x80) {
+                shared--;
+            }
+            writeVarInt(out, shared);
+            writeVarInt(out, current.length - shared);
+            out.write(current, shared, current.length - shared);
+            previous = current;
+        }
+    }
+
+    private static String[] readEntries(DataInput in) throws IOException {
+        int count = readVarInt(in);
+        String[] entries = new String[count];
+        byte[] previous = new byte[0];
+        for (int i = 0; i < count; i++) {
+            int shared = readVarInt(in);
+            int suffix = readVarInt(in);
+            if (shared > previous.length) {
+                throw new IOException("Corrupt parser config: shared prefix longer than the previous entry");
+            }
+            byte[] current = Arrays.copyOf(previous, shared + suffix);
+            in.readFully(current, shared, suffix);
+            entries[i] = new String(current, StandardCharsets.UTF_8);
+            previous = current;
+        }
+        return entries;
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Corrupt parser config: negative length");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Corrupt parser config: length too long");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ParserConfig)) {
+            return false;
+        }
+        ParserConfig other = (ParserConfig) o;
+        return hashCode == other.hashCode
+                && Objects.equals(complianceLevel, other.complianceLevel)
+                && Arrays.equals(classpathEntries, other.classpathEntries)
+                && Arrays.equals(sourcepathEntries, other.sourcepathEntries)
+                && Arrays.equals(encodings, other.encodings);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "ParserConfig{" +
+                "complianceLevel='" + complianceLevel + '\'' +
+                ", classpathEntries=" + classpathEntries.length +
+                ", sourcepathEntries=" + sourcepathEntries.length +
+                ", encodings=" + Arrays.toString(encodings) +
+                '}';
     }
 
     // Getters
-    public String[] getClasspathEntries() { return classpathEntries.toArray(new String[0]); }
-    public String[] getSourcepathEntries() { return sourcepathEntries.toArray(new String[0]); }
-    public String[] getEncodings() { return encodings.toArray(new String[0]); }
+    public String[] getClasspathEntries() { return classpathEntries.clone(); }
+    public String[] getSourcepathEntries() { return sourcepathEntries.clone(); }
+    public String[] getEncodings() { return encodings.clone(); }
     public String getComplianceLevel() { return complianceLevel; }
 }
@@ -0,0 +1,192 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import edu.stevens.swe.research.java.parser.core.utils.DebugLog;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates ASTParsers for one {@link ParserConfig} and parse profile.
+ * <p>
+ * Everything that does not change between parsers is computed once when the factory is built: the compiler
+ * options map, the filtered classpath and the effective sourcepath encodings. Configuring a parser then only
+ * hands these prepared values to JDT, so parsers can be created, or re-configured, cheaply and often.
+ * <p>
+ * JDT resets a parser to its defaults after every {@code createAST} or {@code createASTs} call, so a parser that
+ * is reused must be configured again before each parse. {@link #borrowParser()} lends every thread one parser
+ * of its own, configured on each call; {@link #newParser()} creates a parser the caller keeps.
+ * The factory is immutable and thread-safe, but a parser must only be used by the thread that borrowed it.
+ */
+public class ParserFactory {
+    private final ParserConfig config;
+    private final ParseProfile profile;
+    private final Map<String, String> compilerOptions;
+    private final String[] classpathEntries;
+    private final String[] sourcepathEntries;
+    private final String[] encodings;
+    private final ThreadLocal<ASTParser> pooledParsers = new ThreadLocal<>();
+
+    public ParserFactory(ParserConfig config, ParseProfile profile) {
+        this.config = config;
+        this.profile = profile;
+        this.compilerOptions = createCompilerOptions(config, profile);
+        if (profile == ParseProfile.FAST_SYNTAX) {
+            // A syntax-only parse needs no environment
+            this.classpathEntries = null;
+            this.sourcepathEntries = null;
+            this.encodings = null;
+        } else {
+            this.classpathEntries = prepareClasspathEntries(config);
+            this.sourcepathEntries = config.getSourcepathEntries();
+            this.encodings = effectiveEncodings(sourcepathEntries, config.getEncodings());
+            DebugLog.debug("ParserFactory environment: {} classpath entries, {} sourcepath entries, encodings = {}",
+                    classpathEntries.length, sourcepathEntries == null ? 0 : sourcepathEntries.length,
+                    encodings == null ? "default" : "array[" + encodings.length + "]");
+        }
+    }
+
+    /**
+     * Creates a new, configured parser owned by the caller.
+     */
+    public ASTParser newParser() {
+        ASTParser parser = ASTParser.newParser(AST.getJLSLatest()); // Use the latest JLS version available
+        configure(parser);
+        return parser;
+    }
+
+    /**
+     * Returns the parser of the calling thread, configured for one parse. The same instance is returned to the
+     * thread on every call, so it must not be in use by the caller anymore; it must not be passed to other threads.
+     */
+    public ASTParser borrowParser() {
+        ASTParser parser = pooledParsers.get();
+        if (parser == null) {
+            parser = newParser();
+            pooledParsers.set(parser);
+        } else {
+            configure(parser);
+        }
+        return parser;
+    }
+
+    /**
+     * Applies the prepared options and environment to the given parser. Needed before every parse with a parser
+     * that already parsed something, as JDT forgets its configuration after each parse.
+     */
+    public void configure(ASTParser parser) {
+        if (profile == ParseProfile.FAST_SYNTAX) {
+            parser.setResolveBindings(false);
+            parser.setBindingsRecovery(false);
+            parser.setStatementsRecovery(false);
+            parser.setIgnoreMethodBodies(true);
+            parser.setCompilerOptions(compilerOptions);
+        } else {
+            parser.setResolveBindings(true); // Enable binding resolution
+            // Optional: setting the binding recovery as well in case of partial bindings
+            // due to missing types or other issues
+            parser.setBindingsRecovery(true);
+            parser.setIgnoreMethodBodies(false);
+            parser.setStatementsRecovery(true);
+            parser.setCompilerOptions(compilerOptions);
+            parser.setEnvironment(classpathEntries, sourcepathEntries, encodings, true);
+        }
+        // Configure the parser to parse compilation units (i.e., complete source files)
+        parser.setKind(ASTParser.K_COMPILATION_UNIT);
+    }
+
+    // Getters
+    public ParserConfig getConfig() { return config; }
+    public ParseProfile getProfile() { return profile; }
+    public Map<String, String> getCompilerOptions() { return compilerOptions; }
+
+    private static Map<String, String> createCompilerOptions(ParserConfig config, ParseProfile profile) {
+        Map<String, String> options = JavaCore.getOptions();
+        JavaCore.setComplianceOptions(config.getComplianceLevel(), options);
+        if (profile == ParseProfile.FAST_SYNTAX) {
+            // No javadoc or task-tag processing
+            options.put(JavaCore.COMPILER_DOC_COMMENT_SUPPORT, JavaCore.DISABLED);
+            options.put(JavaCore.COMPILER_TASK_TAGS, "");
+            options.put(JavaCore.COMPILER_TASK_PRIORITIES, "");
+        }
+        // JDT copies the map it is given, so one frozen map serves every parser
+        return Collections.unmodifiableMap(options);
+    }
+
+    /**
+     * JDT expects either no encodings or one per sourcepath entry. A single encoding for several entries,
+     * or a length mismatch, is passed as {@code null} so JDT uses the default encoding for all of them.
+     */
+    private static String[] effectiveEncodings(String[] sourcepathEntries, String[] encodings) {
+        if (sourcepathEntries == null || sourcepathEntries.length == 0 || encodings == null) {
+            return null;
+        }
+        return encodings.length == sourcepathEntries.length ? encodings : null;
+    }
+
+    /**
+     * Prepares classpath entries with safety checks and fallbacks.
+     * Ensures the returned array is not null and contains no null elements.
+     * If no classpath entries are available, provides basic JDK libraries as fallback.
+     */
+    private static String[] prepareClasspathEntries(ParserConfig config) {
+        String[] originalClasspath = config.getClasspathEntries();
+        List<String> validClasspath = new ArrayList<>();
+
+        // Filter out null entries from original classpath
+        if (originalClasspath != null) {
+            for (String entry : originalClasspath) {
+                if (entry != null && !entry.trim().isEmpty()) {
+                    validClasspath.add(entry);
+                }
+            }
+        }
+
+        // If no valid classpath entries found, add basic JDK libraries as fallback
+        if (validClasspath.isEmpty()) {
+            DebugLog.debug("No classpath entries found, adding JDK libraries as fallback");
+            addJdkLibrariesFallback(validClasspath);
+        }
+
+        // If still empty after fallback, provide an empty but non-null array
+        // JDT can work with empty classpath array
+        return validClasspath.toArray(new String[0]);
+    }
+
+    /**
+     * Adds basic JDK libraries to the classpath as a fallback.
+     */
+    private static void addJdkLibrariesFallback(List<String> classpath) {
+        String javaHome = System.getProperty("java.home");
+        if (javaHome != null) {
+            Path javaHomePath = Paths.get(javaHome);
+
+            // Fixed: Use Path.resolve() chain instead of hardcoded path strings for cross-platform compatibility
+            // For Java 9+ (modules system)
+            Path jrtFs = javaHomePath.resolve("lib").resolve("jrt-fs.jar");
+            if (jrtFs.toFile().exists()) {
+                classpath.add(jrtFs.toString());
+                DebugLog.debug("Added JDK library fallback: {}", jrtFs);
+                return;
+            }
+
+            // For Java 8 and earlier
+            Path rtJar = javaHomePath.resolve("lib").resolve("rt.jar");
+            if (rtJar.toFile().exists()) {
+                classpath.add(rtJar.toString());
+                DebugLog.debug("Added JDK library fallback: {}", rtJar);
+                return;
+            }
+
+            DebugLog.debug("No JDK libraries found in fallback attempt: {}", javaHome);
+        } else {
+            DebugLog.debug("java.home system property not found for JDK libraries fallback");
+        }
+    }
+}
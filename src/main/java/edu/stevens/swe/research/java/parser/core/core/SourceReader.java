@@ -0,0 +1,156 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads test source files into the char arrays handed to ASTParser.setSource with as few copies as possible.
+ * Files are read into a reusable heap byte buffer that grows to the largest file seen, and decoded straight
+ * into a reusable char buffer, so the only allocation per file is the exactly sized char array JDT needs,
+ * as it parses the whole array it is given. Files are not memory-mapped: a mapped file that is truncated
+ * while it is read crashes the JVM, and Windows cannot delete or replace a file while it is mapped.
+ * <p>
+ * Each file is decoded with the encoding of the sourcepath entry containing it, following the rules
+ * {@link ASTProcessor} applies when it passes the encodings to JDT. Instances keep per-file state and
+ * must not be shared between threads; give every worker its own reader.
+ */
+public final class SourceReader {
+    private final List<Path> sourceRoots = new ArrayList<>();
+    private final List<Charset> sourceRootEncodings = new ArrayList<>();
+    private final Charset defaultEncoding;
+    private final Map<Charset, CharsetDecoder> decoders = new HashMap<>();
+    private ByteBuffer byteBuffer = ByteBuffer.allocate(16 * 1024);
+    private CharBuffer charBuffer = CharBuffer.allocate(16 * 1024);
+
+    public SourceReader(ParserConfig config) {
+        String[] sourcepathEntries = config.getSourcepathEntries();
+        String[] encodings = config.getEncodings();
+        if (encodings != null && encodings.length == 1) {
+            this.defaultEncoding = toCharset(encodings[0]);
+        } else {
+            this.defaultEncoding = StandardCharsets.UTF_8;
+            if (sourcepathEntries != null && encodings != null && encodings.length == sourcepathEntries.length) {
+                for (int i = 0; i < sourcepathEntries.length; i++) {
+                    sourceRoots.add(Paths.get(sourcepathEntries[i]).toAbsolutePath().normalize());
+                    sourceRootEncodings.add(toCharset(encodings[i]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the encoding of the given file: that of the innermost sourcepath entry containing it,
+     * or the default encoding of the configuration.
+     */
+    public Charset encodingFor(Path javaFile) {
+        Charset encoding = defaultEncoding;
+        int matchedDepth = -1;
+        Path absoluteFile = javaFile.toAbsolutePath().normalize();
+        for (int i = 0; i < sourceRoots.size(); i++) {
+            Path root = sourceRoots.get(i);
+            if (root.getNameCount() > matchedDepth && absoluteFile.startsWith(root)) {
+                encoding = sourceRootEncodings.get(i);
+                matchedDepth = root.getNameCount();
+            }
+        }
+        return encoding;
+    }
+
+    /**
+     * Reads the raw bytes of the given file. The returned buffer is only valid until the next call.
+     *
+     * @param javaFile The source file.
+     * @return A buffer positioned at the first byte of the file, limited to the bytes read up to its end.
+     * @throws IOException if the file cannot be read.
+     */
+    public ByteBuffer readBytes(Path javaFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(javaFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= Integer.MAX_VALUE) {
+                throw new IOException("File too large to read: " + size + " bytes");
+            }
+            // One byte more than the size, so reaching the end of the file takes no extra buffer
+            if (byteBuffer.capacity() <= size) {
+                byteBuffer = ByteBuffer.allocate((int) size + 1);
+            }
+            byteBuffer.clear();
+            while (channel.read(byteBuffer) >= 0) {
+                if (!byteBuffer.hasRemaining()) {
+                    // The file grew since its size was taken
+                    growByteBuffer();
+                }
+            }
+            byteBuffer.flip();
+            return byteBuffer;
+        }
+    }
+
+    private void growByteBuffer() {
+        ByteBuffer grown = ByteBuffer.allocate(byteBuffer.capacity() * 2);
+        byteBuffer.flip();
+        byteBuffer = grown.put(byteBuffer);
+    }
+
+    /**
+     * Decodes the given bytes of a file into a char array of exactly the decoded length.
+     * Malformed and unmappable input is replaced, just as {@code new String(bytes, charset)} does.
+     *
+     * @param javaFile The file the bytes belong to, which selects the encoding.
+     * @param bytes The bytes returned by {@link #readBytes(Path)}; the buffer is consumed.
+     * @return The decoded source.
+     */
+    public char[] decode(Path javaFile, ByteBuffer bytes) {
+        CharsetDecoder decoder = decoders.computeIfAbsent(encodingFor(javaFile), charset -> charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE));
+        int expectedLength = (int) Math.ceil(bytes.remaining() * (double) decoder.maxCharsPerByte());
+        if (charBuffer.capacity() < expectedLength) {
+            charBuffer = CharBuffer.allocate(expectedLength);
+        }
+        charBuffer.clear();
+        decoder.reset();
+        CoderResult result = decoder.decode(bytes, charBuffer, true);
+        if (!result.isOverflow()) {
+            result = decoder.flush(charBuffer);
+        }
+        if (result.isOverflow()) {
+            // maxCharsPerByte is an upper bound for every charset in the JDK, so this is not expected
+            throw new IllegalStateException("Decoded source of " + javaFile + " exceeds " + expectedLength + " chars");
+        }
+        return Arrays.copyOf(charBuffer.array(), charBuffer.position());
+    }
+
+    /**
+     * Reads and decodes the given file.
+     *
+     * @see #readBytes(Path)
+     * @see #decode(Path, ByteBuffer)
+     */
+    public char[] read(Path javaFile) throws IOException {
+        return decode(javaFile, readBytes(javaFile));
+    }
+
+    private static Charset toCharset(String encoding) {
+        try {
+            return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unsupported source encoding " + encoding + ", reading as UTF-8 instead");
+            return StandardCharsets.UTF_8;
+        }
+    }
+}
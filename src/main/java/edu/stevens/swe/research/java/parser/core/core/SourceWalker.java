@@ -0,0 +1,312 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks source roots for Java files in a single pass per root.
+ * <p>
+ * Roots nested inside another root are dropped, so no file is found twice. Below a root, build output and
+ * tool directories ({@code build}, {@code target}, {@code .git}, {@code node_modules}) directly inside the
+ * project root or a module root, i.e. a directory holding a Maven or Gradle build file, and directories
+ * matching one of the exclude globs are pruned without being entered. Elsewhere, such as inside a source
+ * root, those names are ordinary package directories and are walked. The attributes of every entry are
+ * read once, by the walk itself. Disjoint roots can be walked in parallel.
+ */
+public class SourceWalker {
+    private static final Set<String> PRUNED_DIRECTORIES = Set.of("build", "target", ".git", "node_modules");
+    private static final List<String> BUILD_FILES = List.of("pom.xml", "build.gradle", "build.gradle.kts",
+            "settings.gradle", "settings.gradle.kts");
+
+    private final Path projectRoot;
+    private final List<PathMatcher> excludes = new ArrayList<>();
+
+    /**
+     * @param projectRoot The root directory of the project, against which exclude globs are matched.
+     * @param excludes Glob patterns of directories to prune, matched against the directory path relative to
+     *                 the project root (e.g. {@code src/test/resources} or {@code **}{@code /generated}) and
+     *                 against the directory name alone (e.g. {@code fixtures*}).
+     */
+    public SourceWalker(Path projectRoot, List<String> excludes) {
+        this.projectRoot = projectRoot.toAbsolutePath().normalize();
+        for (String glob : excludes) {
+            this.excludes.add(projectRoot.getFileSystem().getPathMatcher("glob:" + glob));
+        }
+    }
+
+    /**
+     * Returns the roots that are not inside another of the given roots, in their original order.
+     * Roots are made absolute and normalized; duplicates are dropped.
+     */
+    public static List<Path> mergeRoots(List<Path> roots) {
+        List<Path> normalized = new ArrayList<>();
+        for (Path root : roots) {
+            normalized.add(root.toAbsolutePath().normalize());
+        }
+        List<Path> merged = new ArrayList<>();
+        for (int i = 0; i < normalized.size(); i++) {
+            Path root = normalized.get(i);
+            boolean nested = false;
+            for (int j = 0; j < normalized.size() && !nested; j++) {
+                Path other = normalized.get(j);
+                // An identical root is only kept at its first occurrence
+                nested = i != j && root.startsWith(other) && (!root.equals(other) || j < i);
+            }
+            if (!nested) {
+                merged.add(root);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Whether the walk skips the given directory found below a root, along with everything inside it.
+     */
+    public boolean isPruned(Path directory) {
+        Path name = directory.getFileName();
+        if (name == null) {
+            return false;
+        }
+        Path absolute = directory.toAbsolutePath().normalize();
+        if (PRUNED_DIRECTORIES.contains(name.toString()) && isProjectOrModuleRoot(absolute.getParent())) {
+            return true;
+        }
+        if (excludes.isEmpty()) {
+            return false;
+        }
+        Path relative = absolute.startsWith(projectRoot) ? projectRoot.relativize(absolute) : null;
+        for (PathMatcher exclude : excludes) {
+            if (exclude.matches(name) || (relative != null && exclude.matches(relative))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the directory is the project root or holds a build file. Only checked for directories with the
+     * name of a build output directory, so the extra lookups are rare.
+     */
+    private boolean isProjectOrModuleRoot(Path directory) {
+        if (directory == null) {
+            return false;
+        }
+        if (directory.equals(projectRoot)) {
+            return true;
+        }
+        for (String buildFile : BUILD_FILES) {
+            if (Files.exists(directory.resolve(buildFile))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the Java files below the given roots with {@link Files#walkFileTree}. Overlapping roots are
+     * merged first. The files are returned in root order, and in walk order within each root, whether or
+     * not the roots are walked in parallel.
+     *
+     * @param roots The roots to walk. Roots that are not directories are ignored.
+     * @param parallel Whether to walk each root on its own thread.
+     * @return The Java files found.
+     * @throws IOException if a directory cannot be read.
+     */
+    public List<Path> walk(List<Path> roots, boolean parallel) throws IOException {
+        List<Path> merged = mergeRoots(roots);
+        if (!parallel || merged.size() < 2) {
+            List<Path> javaFiles = new ArrayList<>();
+            for (Path root : merged) {
+                walkRoot(root, javaFiles);
+            }
+            return javaFiles;
+        }
+        List<Path> javaFiles = new ArrayList<>();
+        // Walking is I/O-bound, so a virtual thread per root is enough
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<Path>>> futures = new ArrayList<>();
+            for (Path root : merged) {
+                futures.add(executor.submit(() -> walkRoot(root, new ArrayList<>())));
+            }
+            for (Future<List<Path>> future : futures) {
+                javaFiles.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while walking source roots", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Error walking source roots", e.getCause());
+        }
+        return javaFiles;
+    }
+
+    /**
+     * Returns a lazy stream of the Java files below the given roots, in the same order as {@link #walk(List, boolean)}.
+     * Directories are only opened as the stream is consumed, and pruned directories are never opened.
+     * The stream holds open directory handles and must be closed. Errors reading a directory surface as
+     * {@link UncheckedIOException}.
+     */
+    public Stream<Path> stream(List<Path> roots) {
+        LazyWalk walk = new LazyWalk(mergeRoots(roots));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(walk, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(walk::close);
+    }
+
+    private List<Path> walkRoot(Path root, List<Path> javaFiles) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return javaFiles;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return !dir.equals(root) && isPruned(dir) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (isJavaFile(file, attrs)) {
+                    javaFiles.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+                if (exc instanceof NoSuchFileException) {
+                    // Deleted while walking
+                    return FileVisitResult.CONTINUE;
+                }
+                throw exc;
+            }
+        });
+        return javaFiles;
+    }
+
+    /**
+     * Whether an entry is a Java file, given the attributes the walk read without following links.
+     * Only symbolic links cost another lookup, to see whether they point to a regular file.
+     */
+    private static boolean isJavaFile(Path file, BasicFileAttributes attrs) {
+        if (!file.toString().endsWith(".java")) {
+            return false;
+        }
+        return attrs.isRegularFile() || (attrs.isSymbolicLink() && Files.isRegularFile(file));
+    }
+
+    /**
+     * A depth-first walk that opens one directory at a time, like {@link Files#walkFileTree} but pulled by the consumer.
+     */
+    private final class LazyWalk implements Iterator<Path> {
+        private final Iterator<Path> roots;
+        private final Deque<DirectoryStream<Path>> openDirectories = new ArrayDeque<>();
+        private final Deque<Iterator<Path>> entries = new ArrayDeque<>();
+        private Path next;
+
+        private LazyWalk(List<Path> roots) {
+            this.roots = roots.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Path next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Path result = next;
+            next = null;
+            return result;
+        }
+
+        private Path advance() {
+            try {
+                while (true) {
+                    if (entries.isEmpty()) {
+                        if (!roots.hasNext()) {
+                            return null;
+                        }
+                        Path root = roots.next();
+                        if (Files.isDirectory(root)) {
+                            open(root);
+                        }
+                        continue;
+                    }
+                    Iterator<Path> current = entries.peek();
+                    if (!current.hasNext()) {
+                        entries.pop();
+                        openDirectories.pop().close();
+                        continue;
+                    }
+                    Path entry = current.next();
+                    BasicFileAttributes attrs;
+                    try {
+                        attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (NoSuchFileException e) {
+                        // Deleted while walking
+                        continue;
+                    }
+                    if (attrs.isDirectory()) {
+                        if (!isPruned(entry)) {
+                            open(entry);
+                        }
+                    } else if (isJavaFile(entry, attrs)) {
+                        return entry;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void open(Path directory) throws IOException {
+            DirectoryStream<Path> stream = Files.newDirectoryStream(directory);
+            openDirectories.push(stream);
+            entries.push(stream.iterator());
+        }
+
+        private void close() {
+            for (DirectoryStream<Path> stream : openDirectories) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    // Nothing left to read from it
+                }
+            }
+            openDirectories.clear();
+            entries.clear();
+        }
+    }
+}
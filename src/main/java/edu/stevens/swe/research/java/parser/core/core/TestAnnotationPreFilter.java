@@ -0,0 +1,81 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Cheap byte-level check that rules out test files which cannot declare a test before they are
+ * handed to JDT. Every annotation {@link edu.stevens.swe.research.java.parser.core.visitor.TestAstVisitor}
+ * recognises ends in the identifier {@code Test} and is preceded by an {@code @}, so a file lacking
+ * either of them cannot yield a test case.
+ * <p>
+ * The check is conservative: whenever the raw bytes cannot be trusted to show the source text
+ * as written (a charset that is not ASCII compatible, or unicode escapes that may spell out
+ * either token) the file is reported as a candidate. Instances are stateless and thread-safe.
+ */
+public final class TestAnnotationPreFilter {
+    private static final byte[] TEST_TOKEN = "Test".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Checks the given source bytes, from the buffer's position to its limit, without moving the position.
+     * Callers pass the bytes they read to parse the file, e.g. with {@link SourceReader#readBytes(Path)}.
+     *
+     * @return {@code false} only if the file certainly declares no recognised test.
+     */
+    public boolean mayContainTests(ByteBuffer content, Charset encoding) {
+        if (!isAsciiCompatible(encoding)) {
+            return true;
+        }
+        boolean sawAt = false;
+        boolean sawTestToken = false;
+        int limit = content.limit();
+        for (int i = content.position(); i < limit; i++) {
+            byte b = content.get(i);
+            if (b == '@') {
+                sawAt = true;
+            } else if (b == '\\' && i + 1 < limit && content.get(i + 1) == 'u') {
+                // A unicode escape may encode '@' or any letter of the token
+                return true;
+            } else if (b == 'T' && !sawTestToken && isTestToken(content, i, limit)) {
+                sawTestToken = true;
+            }
+            if (sawAt && sawTestToken) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTestToken(ByteBuffer content, int start, int limit) {
+        int end = start + TEST_TOKEN.length;
+        if (end > limit) {
+            return false;
+        }
+        for (int i = 1; i < TEST_TOKEN.length; i++) {
+            if (content.get(start + i) != TEST_TOKEN[i]) {
+                return false;
+            }
+        }
+        // Non-ASCII bytes count as separators, so an identifier merely containing "Test" may pass but a real one never fails
+        return (start == 0 || !isAsciiIdentifierPart(content.get(start - 1)))
+                && (end == limit || !isAsciiIdentifierPart(content.get(end)));
+    }
+
+    private static boolean isAsciiIdentifierPart(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_' || b == '$';
+    }
+
+    /**
+     * Only single-byte charsets and UTF-8 encode every ASCII character as itself and never produce ASCII
+     * bytes as part of another character, which is what scanning the raw bytes relies on.
+     */
+    private static boolean isAsciiCompatible(Charset charset) {
+        String name = charset.name();
+        return charset.equals(StandardCharsets.UTF_8)
+                || charset.equals(StandardCharsets.US_ASCII)
+                || name.startsWith("ISO-8859-")
+                || name.startsWith("windows-125");
+    }
+}
@@ -0,0 +1,756 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import edu.stevens.swe.research.java.parser.core.metrics.DiscoveryEvent;
+import edu.stevens.swe.research.java.parser.core.metrics.DiscoveryMetrics;
+import edu.stevens.swe.research.java.parser.core.metrics.ParseEvent;
+import edu.stevens.swe.research.java.parser.core.metrics.Phase;
+import edu.stevens.swe.research.java.parser.core.metrics.SourceReadEvent;
+import edu.stevens.swe.research.java.parser.core.metrics.VisitEvent;
+import edu.stevens.swe.research.java.parser.core.model.ChunkStatistics;
+import edu.stevens.swe.research.java.parser.core.model.TestCaseInfo;
+import edu.stevens.swe.research.java.parser.core.visitor.TestAstVisitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.FileASTRequestor;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Parses test source files and collects the test cases found by {@link TestAstVisitor}.
+ * Depending on the {@link DiscoveryOptions}, files are parsed one at a time or handed to
+ * ASTParser.createASTs in batches, either on the calling thread or by a pool of workers,
+ * each owning its own ASTParser. When a {@link DiscoveryCache} is given, unchanged files
+ * are served from it and only the remaining files are parsed. Unless disabled, files that
+ * {@link TestAnnotationPreFilter} rules out are skipped without being parsed at all.
+ */
+public class TestDiscoverer {
+    private static final AtomicInteger nextWorkerId = new AtomicInteger();
+    private static final String[] NO_BINDING_KEYS = new String[0];
+    private static final int INITIAL_CHUNK_SIZE = 64;
+    private static final int MAX_CHUNK_SIZE = 4096;
+
+    private final ASTProcessor astProcessor;
+    private final ParserFactory parserFactory;
+    private final DiscoveryOptions options;
+    private final DiscoveryCache cache;
+    private final TestAnnotationPreFilter preFilter;
+    private final DiscoveryMetrics metrics = DiscoveryMetrics.global();
+    private final AtomicLong parsedFiles = new AtomicLong();
+    private final AtomicLong skippedFiles = new AtomicLong();
+    private final AtomicLong cachedFiles = new AtomicLong();
+    private final List<ChunkStatistics> chunkStatistics = new ArrayList<>();
+    private final Queue<Path> timedOutFiles = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean deadlineReached = new AtomicBoolean();
+    private volatile long deadlineNanos = Long.MAX_VALUE;
+
+    public TestDiscoverer(ASTProcessor astProcessor, DiscoveryOptions options) {
+        this(astProcessor, options, null);
+    }
+
+    /**
+     * @param cache The cache to consult and update, or {@code null} to parse every file.
+     */
+    public TestDiscoverer(ASTProcessor astProcessor, DiscoveryOptions options, DiscoveryCache cache) {
+        this.astProcessor = astProcessor;
+        this.parserFactory = astProcessor.getParserFactory();
+        this.options = options;
+        this.cache = cache;
+        this.preFilter = options.isPreFilter() ? new TestAnnotationPreFilter() : null;
+    }
+
+    /**
+     * Parses the given test files and returns every test case found in them.
+     *
+     * @param testJavaFiles The test source files to parse.
+     * @return The discovered test cases, in file order unless deterministic order was disabled.
+     */
+    public List<TestCaseInfo> discover(List<Path> testJavaFiles) {
+        beginRun();
+        try {
+            Results results = discoverFiles(testJavaFiles);
+            return options.isBatchParsing() || options.isDeterministicOrder()
+                    ? results.inFileOrder() : results.inCompletionOrder();
+        } finally {
+            endRun();
+        }
+    }
+
+    /**
+     * Parses the given test files like {@link #discover(List)} and returns the test cases of each file,
+     * including files that declare none. Files a time limit stopped from being finished are left out.
+     */
+    Map<Path, List<TestCaseInfo>> discoverByFile(List<Path> testJavaFiles) {
+        beginRun();
+        try {
+            Results results = discoverFiles(testJavaFiles);
+            Map<Path, List<TestCaseInfo>> byFile = new LinkedHashMap<>();
+            for (int i = 0; i < testJavaFiles.size(); i++) {
+                if (results.isPublished(i)) {
+                    byFile.put(testJavaFiles.get(i), results.byFile.get(i));
+                }
+            }
+            return byFile;
+        } finally {
+            endRun();
+        }
+    }
+
+    private Results discoverFiles(List<Path> testJavaFiles) {
+        Results results = new Results(testJavaFiles.size());
+        List<Integer> pending = probeCache(testJavaFiles, results);
+
+        if (options.isBatchParsing()) {
+            parseInBatches(testJavaFiles, pending, results);
+        } else if (options.getParallelism() <= 1 || pending.size() <= 1) {
+            parseSequentially(testJavaFiles, pending, results);
+        } else {
+            parseInParallel(testJavaFiles, pending, results);
+        }
+        return results;
+    }
+
+    /**
+     * Publishes the files the cache serves and returns the indexes of the files left to parse.
+     */
+    private List<Integer> probeCache(List<Path> testJavaFiles, Results results) {
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < testJavaFiles.size(); i++) {
+            if (cache != null) {
+                try {
+                    DiscoveryCache.Probe probe = cache.probe(testJavaFiles.get(i));
+                    if (probe.isHit()) {
+                        cachedFiles.incrementAndGet();
+                        metrics.increment(DiscoveryMetrics.FILES_CACHED);
+                        results.publish(i, probe.getCachedTestCases());
+                        continue;
+                    }
+                    results.probes[i] = probe;
+                } catch (IOException e) {
+                    // Left to the parse below, which reports the read error
+                }
+            }
+            pending.add(i);
+        }
+        return pending;
+    }
+
+    /**
+     * Lazily parses the given files as the returned stream is consumed, yielding the test cases of
+     * each file as soon as it has been visited. Files are parsed one by one with a single ASTParser,
+     * so parallelism and batch parsing do not apply. Closing the returned stream closes the file
+     * stream and stops any further parsing, as does reaching the deadline of the options.
+     *
+     * @param testJavaFiles A (possibly lazy) stream of test source files.
+     * @return A lazy stream of the discovered test cases, in file order.
+     */
+    public Stream<TestCaseInfo> stream(Stream<Path> testJavaFiles) {
+        beginRun();
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicReference<ASTParser> parser = new AtomicReference<>();
+        SourceReader reader = new SourceReader(astProcessor.getConfig());
+        Supplier<ASTParser> lazyParser = () -> {
+            if (parser.get() == null) {
+                parser.set(parserFactory.borrowParser());
+            }
+            return parser.get();
+        };
+        return testJavaFiles
+                .onClose(() -> {
+                    closed.set(true);
+                    endRun();
+                })
+                .takeWhile(javaFile -> !closed.get() && !checkDeadline())
+                .flatMap(javaFile -> {
+                    List<TestCaseInfo> found = discoverFile(lazyParser, reader, javaFile);
+                    return found == null ? Stream.empty() : found.stream();
+                });
+    }
+
+    /**
+     * Parses the given files in chunks sized to keep the live heap near the budget of the options. Files are
+     * pulled from the (possibly lazy) stream one chunk at a time, and each chunk is parsed with a single
+     * ASTParser.createASTs call, so one lookup environment lives for exactly one chunk and is dropped before
+     * the next; each CompilationUnit is released once it has been visited. The heap occupancy after the last
+     * garbage collection is sampled after each file, and the next chunk size shrinks or grows depending on
+     * how close the chunk came to the budget. This is adaptive chunking, not a hard cap: a chunk always runs
+     * to its end, and the occupancy only changes when the collector runs. Statistics of every chunk are kept
+     * in {@link #getChunkStatistics()}.
+     *
+     * @param testJavaFiles A (possibly lazy) stream of test source files. It is consumed but not closed.
+     * @return The discovered test cases, in file order.
+     */
+    public List<TestCaseInfo> discoverWithinBudget(Stream<Path> testJavaFiles) {
+        beginRun();
+        try {
+            return discoverFilesWithinBudget(testJavaFiles);
+        } finally {
+            endRun();
+        }
+    }
+
+    private List<TestCaseInfo> discoverFilesWithinBudget(Stream<Path> testJavaFiles) {
+        long heapBudget = options.getHeapBudget();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()) {
+                heapPools.add(pool);
+            }
+        }
+        List<TestCaseInfo> allTestCases = new ArrayList<>();
+        Iterator<Path> files = testJavaFiles.iterator();
+        int chunkSize = INITIAL_CHUNK_SIZE;
+        while (files.hasNext() && !checkDeadline()) {
+            long start = System.nanoTime();
+            List<Path> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize && files.hasNext()) {
+                chunk.add(files.next());
+            }
+            Results results = new Results(chunk.size());
+            HeapSampler heap = new HeapSampler(heapPools);
+            results.heapSampler = heap;
+            parseBatch(chunk, probeCache(chunk, results), results);
+            allTestCases.addAll(results.inFileOrder());
+            // Also covers chunks served entirely from the cache or the pre-filter
+            heap.sample();
+            chunkStatistics.add(new ChunkStatistics(chunkStatistics.size(), chunk.size(), heap.peak,
+                    heap.total / heap.samples, (System.nanoTime() - start) / 1_000_000));
+
+            if (heap.peak > heapBudget) {
+                chunkSize = Math.max(1, chunk.size() / 2);
+            } else if (heap.peak < heapBudget / 2) {
+                chunkSize = Math.min(MAX_CHUNK_SIZE, chunkSize * 2);
+            }
+        }
+        return allTestCases;
+    }
+
+    /**
+     * Returns the occupancy of the heap pools after their last collection, which unlike the used heap does
+     * not count garbage that is yet to be collected. Before the first collection, and on collectors that do
+     * not report it, only the used heap is known.
+     */
+    private static long heapOccupancyAfterGc(List<MemoryPoolMXBean> heapPools) {
+        long collections = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collections += Math.max(0, collector.getCollectionCount());
+        }
+        if (collections == 0 || heapPools.isEmpty()) {
+            return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        }
+        long occupancy = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            MemoryUsage afterGc = pool.getCollectionUsage();
+            if (afterGc != null) {
+                occupancy += afterGc.getUsed();
+            }
+        }
+        return occupancy;
+    }
+
+    /**
+     * Returns the heap statistics of every chunk parsed by {@link #discoverWithinBudget(Stream)}.
+     */
+    public List<ChunkStatistics> getChunkStatistics() {
+        return Collections.unmodifiableList(chunkStatistics);
+    }
+
+    /**
+     * Serves a single file from the cache or parses it, creating the parser only when one is needed.
+     * Returns {@code null} if a time limit stopped the file from being parsed; such files are not cached.
+     */
+    private List<TestCaseInfo> discoverFile(Supplier<ASTParser> parser, SourceReader reader, Path javaFile) {
+        DiscoveryCache.Probe probe = null;
+        if (cache != null) {
+            try {
+                probe = cache.probe(javaFile);
+                if (probe.isHit()) {
+                    cachedFiles.incrementAndGet();
+                    metrics.increment(DiscoveryMetrics.FILES_CACHED);
+                    return probe.getCachedTestCases();
+                }
+            } catch (IOException e) {
+                // Left to parseFile, which reports the read error
+            }
+        }
+        List<TestCaseInfo> found = parseFile(parser.get(), reader, javaFile, probe);
+        if (probe != null && found != null) {
+            cache.store(probe, found);
+        }
+        return found;
+    }
+
+    /**
+     * Number of files parsed by this discoverer so far, across all discovery runs.
+     */
+    public long getParsedFileCount() { return parsedFiles.get(); }
+
+    /**
+     * Number of files the pre-filter ruled out without parsing them.
+     */
+    public long getSkippedFileCount() { return skippedFiles.get(); }
+
+    /**
+     * Number of files whose test cases were served from the discovery cache.
+     */
+    public long getCachedFileCount() { return cachedFiles.get(); }
+
+    /**
+     * Files skipped because parsing them took longer than the per-file budget, across all discovery runs.
+     */
+    public List<Path> getTimedOutFiles() { return new ArrayList<>(timedOutFiles); }
+
+    /**
+     * Whether the last discovery run stopped at the deadline of the options, leaving files unparsed.
+     */
+    public boolean isDeadlineReached() { return deadlineReached.get(); }
+
+    private void beginRun() {
+        deadlineReached.set(false);
+        Duration deadline = options.getDeadline();
+        deadlineNanos = deadline == null ? Long.MAX_VALUE : deadlineAfter(deadline);
+    }
+
+    /**
+     * Lifts the deadline once a run is over, so files parsed later on their own (e.g. by a live index)
+     * are only subject to the per-file budget.
+     */
+    private void endRun() {
+        deadlineNanos = Long.MAX_VALUE;
+    }
+
+    /**
+     * Checks the deadline of the current run, recording that it was reached.
+     */
+    private boolean checkDeadline() {
+        long deadline = deadlineNanos;
+        if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0) {
+            deadlineReached.set(true);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Creates the monitor JDT checks for cancellation, or returns {@code null} when no time limit applies.
+     */
+    private DeadlineProgressMonitor createMonitor(boolean withFileBudget) {
+        Duration fileTimeout = withFileBudget ? options.getFileTimeout() : null;
+        if (fileTimeout == null && deadlineNanos == Long.MAX_VALUE) {
+            return null;
+        }
+        return new DeadlineProgressMonitor(fileTimeout == null ? Long.MAX_VALUE : deadlineAfter(fileTimeout), deadlineNanos);
+    }
+
+    private static long deadlineAfter(Duration duration) {
+        long now = System.nanoTime();
+        long nanos = duration.toNanos();
+        // Saturate rather than overflow for very long durations
+        return nanos >= Long.MAX_VALUE - now ? Long.MAX_VALUE - 1 : now + nanos;
+    }
+
+    private void parseSequentially(List<Path> testJavaFiles, List<Integer> pending, Results results) {
+        ASTParser parser = parserFactory.borrowParser();
+        SourceReader reader = new SourceReader(astProcessor.getConfig());
+        for (int index : pending) {
+            results.publish(index, parseFile(parser, reader, testJavaFiles.get(index), results.probes[index]));
+        }
+    }
+
+    private void parseInParallel(List<Path> testJavaFiles, List<Integer> pending, Results results) {
+        int workers = Math.min(options.getParallelism(), pending.size());
+
+        // Workers claim files through a shared counter and publish into lock-free per-file slots
+        AtomicInteger nextPending = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            tasks.add(() -> {
+                ASTParser parser = parserFactory.borrowParser();
+                SourceReader reader = new SourceReader(astProcessor.getConfig());
+                int claimed;
+                while ((claimed = nextPending.getAndIncrement()) < pending.size()) {
+                    int index = pending.get(claimed);
+                    results.publish(index, parseFile(parser, reader, testJavaFiles.get(index), results.probes[index]));
+                }
+            });
+        }
+        runWorkers(tasks);
+    }
+
+    /**
+     * Hands the files to ASTParser.createASTs so one lookup environment is shared by the whole set.
+     * With a parallelism greater than one, the files are split into one contiguous slice per worker.
+     */
+    private void parseInBatches(List<Path> testJavaFiles, List<Integer> pending, Results results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        int workers = Math.max(1, Math.min(options.getParallelism(), pending.size()));
+        if (workers == 1) {
+            parseBatch(testJavaFiles, pending, results);
+            return;
+        }
+
+        int sliceSize = (pending.size() + workers - 1) / workers;
+        List<Runnable> tasks = new ArrayList<>();
+        for (int from = 0; from < pending.size(); from += sliceSize) {
+            List<Integer> slice = pending.subList(from, Math.min(from + sliceSize, pending.size()));
+            tasks.add(() -> parseBatch(testJavaFiles, slice, results));
+        }
+        runWorkers(tasks);
+    }
+
+    private void parseBatch(List<Path> testJavaFiles, List<Integer> batch, Results results) {
+        SourceReader reader = new SourceReader(astProcessor.getConfig());
+        List<String> sourceFilePaths = new ArrayList<>(batch.size());
+        List<String> encodings = new ArrayList<>(batch.size());
+        Map<String, Integer> indexByPath = new HashMap<>();
+        for (int index : batch) {
+            Path javaFile = testJavaFiles.get(index);
+            DiscoveryCache.Probe probe = results.probes[index];
+            if (preFilter != null || probe != null) {
+                // JDT reads the file again in createASTs; the one read here serves both the cache and the pre-filter
+                try {
+                    ByteBuffer content = reader.readBytes(javaFile);
+                    if (probe != null) {
+                        List<TestCaseInfo> cached = cache.confirm(probe, content);
+                        if (cached != null) {
+                            cachedFiles.incrementAndGet();
+                            metrics.increment(DiscoveryMetrics.FILES_CACHED);
+                            results.publish(index, cached);
+                            continue;
+                        }
+                    }
+                    if (preFilter != null && !preFilter.mayContainTests(content, reader.encodingFor(javaFile))) {
+                        skippedFiles.incrementAndGet();
+                        metrics.increment(DiscoveryMetrics.FILES_SKIPPED);
+                        results.publish(index, Collections.emptyList());
+                        continue;
+                    }
+                } catch (IOException e) {
+                    // Left to createASTs and the per-file fallback, which report the read error
+                }
+            }
+            String absolutePath = javaFile.toAbsolutePath().toString();
+            sourceFilePaths.add(absolutePath);
+            // createASTs falls back to the platform encoding when none is given, so pass the
+            // file's encoding explicitly to read it the same way the per-file path does.
+            encodings.add(reader.encodingFor(javaFile).name());
+            indexByPath.put(absolutePath, index);
+        }
+        if (sourceFilePaths.isEmpty()) {
+            return;
+        }
+
+        if (checkDeadline()) {
+            return;
+        }
+        ParseEvent event = new ParseEvent();
+        event.files = sourceFilePaths.size();
+        event.begin();
+        long start = System.nanoTime();
+        long[] visitNanos = new long[1];
+        try {
+            ASTParser parser = parserFactory.borrowParser();
+            parser.createASTs(sourceFilePaths.toArray(new String[0]), encodings.toArray(new String[0]), NO_BINDING_KEYS, new FileASTRequestor() {
+                @Override
+                public void acceptAST(String sourceFilePath, CompilationUnit ast) {
+                    Integer index = indexByPath.get(sourceFilePath);
+                    if (index == null) {
+                        return;
+                    }
+                    parsedFiles.incrementAndGet();
+                    metrics.increment(DiscoveryMetrics.FILES_PARSED);
+                    long visitStart = System.nanoTime();
+                    try {
+                        results.publish(index, visit(ast, sourceFilePath));
+                    } catch (Exception e) {
+                        System.err.println("Error parsing file: " + sourceFilePath + " - " + e.getMessage());
+                        results.publish(index, Collections.emptyList());
+                    }
+                    visitNanos[0] += System.nanoTime() - visitStart;
+                    if (results.heapSampler != null) {
+                        results.heapSampler.sample();
+                    }
+                }
+            }, createMonitor(false));
+            // The visits run inside createASTs; they are recorded as VISIT, not PARSE
+            metrics.record(Phase.PARSE, System.nanoTime() - start - visitNanos[0]);
+            event.finish(null, DiscoveryEvent.SUCCESS);
+        } catch (OperationCanceledException e) {
+            // Only the deadline cancels a batch; files not handed back yet stay unparsed
+            event.finish(null, DiscoveryEvent.CANCELED);
+            deadlineReached.set(true);
+            return;
+        } catch (Exception e) {
+            event.finish(null, DiscoveryEvent.FAILED);
+            System.err.println("Error batch parsing " + sourceFilePaths.size() + " files - " + e.getMessage()
+                    + ", falling back to parsing them one by one");
+        }
+
+        // Files the batch did not hand back (unreadable, or the batch failed) go through the per-file path,
+        // which reports read and parse errors exactly like sequential discovery.
+        ASTParser fallbackParser = null;
+        for (int index : batch) {
+            if (!results.isPublished(index)) {
+                if (fallbackParser == null) {
+                    fallbackParser = parserFactory.borrowParser();
+                }
+                results.publish(index, parseFile(fallbackParser, reader, testJavaFiles.get(index), results.probes[index]));
+            }
+        }
+    }
+
+    private void runWorkers(List<Runnable> tasks) {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size(), runnable -> {
+            Thread thread = new Thread(runnable, "parser-core-discovery-" + nextWorkerId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<?> future : futures) {
+                awaitWorker(future);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void awaitWorker(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for test discovery workers", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Test discovery worker failed", cause);
+        }
+    }
+
+    /**
+     * Parses a single test file with the given parser and returns the test cases it declares.
+     * The file is read once by the worker's reader, which feeds both the pre-filter and the parser.
+     * Read and parse failures are reported and yield an empty list, so one bad file never aborts discovery.
+     * Returns {@code null} if the file exceeded the per-file budget, which is reported, or if the
+     * deadline of the run was reached before or while parsing it.
+     */
+    List<TestCaseInfo> parseFile(ASTParser parser, SourceReader reader, Path javaFile) {
+        return parseFile(parser, reader, javaFile, null);
+    }
+
+    /**
+     * Parses a single test file like {@link #parseFile(ASTParser, SourceReader, Path)}, first handing the
+     * bytes it read to the cache when the file missed it. The cache hashes them for storing and serves the
+     * file if it was only touched, so a miss reads the file once.
+     */
+    private List<TestCaseInfo> parseFile(ASTParser parser, SourceReader reader, Path javaFile, DiscoveryCache.Probe probe) {
+        if (checkDeadline()) {
+            return null;
+        }
+        DeadlineProgressMonitor monitor = null;
+        String absolutePath = javaFile.toAbsolutePath().toString();
+        SourceReadEvent readEvent = new SourceReadEvent();
+        ParseEvent parseEvent = null;
+        try {
+            readEvent.begin();
+            long start = System.nanoTime();
+            ByteBuffer content = reader.readBytes(javaFile);
+            readEvent.bytes = content.remaining();
+            if (probe != null) {
+                List<TestCaseInfo> cached = cache.confirm(probe, content);
+                if (cached != null) {
+                    metrics.recordSince(Phase.READ, start);
+                    readEvent.finish(absolutePath, DiscoveryEvent.SUCCESS);
+                    cachedFiles.incrementAndGet();
+                    metrics.increment(DiscoveryMetrics.FILES_CACHED);
+                    return cached;
+                }
+            }
+            if (preFilter != null && !preFilter.mayContainTests(content, reader.encodingFor(javaFile))) {
+                metrics.recordSince(Phase.READ, start);
+                readEvent.finish(absolutePath, DiscoveryEvent.SKIPPED);
+                skippedFiles.incrementAndGet();
+                metrics.increment(DiscoveryMetrics.FILES_SKIPPED);
+                return Collections.emptyList();
+            }
+            char[] source = reader.decode(javaFile, content);
+            metrics.recordSince(Phase.READ, start);
+            readEvent.finish(absolutePath, DiscoveryEvent.SUCCESS);
+            parsedFiles.incrementAndGet();
+            metrics.increment(DiscoveryMetrics.FILES_PARSED);
+            // JDT forgets the configuration after every parse, so reapply the prepared one
+            parserFactory.configure(parser);
+            parser.setSource(source);
+            parser.setUnitName(absolutePath);
+            parseEvent = new ParseEvent();
+            parseEvent.files = 1;
+            parseEvent.begin();
+            monitor = createMonitor(true);
+            start = System.nanoTime();
+            CompilationUnit cu = (CompilationUnit) parser.createAST(monitor);
+            metrics.recordSince(Phase.PARSE, start);
+            parseEvent.finish(absolutePath, DiscoveryEvent.SUCCESS);
+            return visit(cu, absolutePath);
+        } catch (OperationCanceledException e) {
+            if (monitor == null) {
+                System.err.println("Error parsing file: " + javaFile + " - parsing was canceled");
+                return Collections.emptyList();
+            }
+            if (monitor.isGlobalDeadlineReached()) {
+                parseEvent.finish(absolutePath, DiscoveryEvent.CANCELED);
+                deadlineReached.set(true);
+            } else {
+                parseEvent.finish(absolutePath, DiscoveryEvent.TIMED_OUT);
+                timedOutFiles.add(javaFile);
+                metrics.increment(DiscoveryMetrics.FILES_TIMED_OUT);
+                System.err.println("Skipping file: " + javaFile + " - parsing exceeded the budget of "
+                        + options.getFileTimeout().toMillis() + " ms");
+            }
+            return null;
+        } catch (IOException e) {
+            readEvent.finish(absolutePath, DiscoveryEvent.FAILED);
+            System.err.println("Error reading file: " + javaFile + " - " + e.getMessage());
+        } catch (Exception e) {
+            // Events already finished ignore this
+            readEvent.finish(absolutePath, DiscoveryEvent.FAILED);
+            if (parseEvent != null) {
+                parseEvent.finish(absolutePath, DiscoveryEvent.FAILED);
+            }
+            System.err.println("Error parsing file: " + javaFile + " - " + e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    private List<TestCaseInfo> visit(CompilationUnit cu, String absolutePath) {
+        VisitEvent event = new VisitEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String outcome = DiscoveryEvent.FAILED;
+        try {
+            TestAstVisitor visitor = new TestAstVisitor(absolutePath);
+            cu.accept(visitor);
+            List<TestCaseInfo> found = visitor.getTestCases();
+            event.testCases = found.size();
+            outcome = DiscoveryEvent.SUCCESS;
+            return found;
+        } finally {
+            metrics.recordSince(Phase.VISIT, start);
+            event.finish(absolutePath, outcome);
+        }
+    }
+
+    /**
+     * Lock-free collector of per-file results. Each file has its own slot, and the order in which
+     * files completed is recorded so results can be returned in either file or completion order.
+     * Results of parsed files are written back to the cache as they are published.
+     */
+    private final class Results {
+        private final AtomicReferenceArray<List<TestCaseInfo>> byFile;
+        private final AtomicIntegerArray completionOrder;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final DiscoveryCache.Probe[] probes;
+        private HeapSampler heapSampler;
+
+        private Results(int fileCount) {
+            this.byFile = new AtomicReferenceArray<>(fileCount);
+            this.completionOrder = new AtomicIntegerArray(fileCount);
+            this.probes = new DiscoveryCache.Probe[fileCount];
+        }
+
+        private void publish(int index, List<TestCaseInfo> found) {
+            if (found == null) {
+                // Stopped by a time limit: leave the slot empty and keep the file out of the cache
+                return;
+            }
+            if (probes[index] != null) {
+                cache.store(probes[index], found);
+            }
+            byFile.set(index, found);
+            completionOrder.set(completed.getAndIncrement(), index);
+        }
+
+        private boolean isPublished(int index) {
+            return byFile.get(index) != null;
+        }
+
+        private List<TestCaseInfo> inFileOrder() {
+            List<TestCaseInfo> allTestCases = new ArrayList<>();
+            for (int i = 0; i < byFile.length(); i++) {
+                List<TestCaseInfo> found = byFile.get(i);
+                if (found != null) {
+                    allTestCases.addAll(found);
+                }
+            }
+            return allTestCases;
+        }
+
+        private List<TestCaseInfo> inCompletionOrder() {
+            List<TestCaseInfo> allTestCases = new ArrayList<>();
+            for (int i = 0; i < completed.get(); i++) {
+                allTestCases.addAll(byFile.get(completionOrder.get(i)));
+            }
+            return allTestCases;
+        }
+    }
+
+    /**
+     * Peak and running total of the heap occupancy sampled while one chunk is parsed.
+     */
+    private static final class HeapSampler {
+        private final List<MemoryPoolMXBean> heapPools;
+        private long peak;
+        private long total;
+        private int samples;
+
+        private HeapSampler(List<MemoryPoolMXBean> heapPools) {
+            this.heapPools = heapPools;
+        }
+
+        private void sample() {
+            long occupancy = heapOccupancyAfterGc(heapPools);
+            peak = Math.max(peak, occupancy);
+            total += occupancy;
+            samples++;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import edu.stevens.swe.research.java.parser.core.metrics.DiscoveryMetrics;
+import edu.stevens.swe.research.java.parser.core.metrics.Phase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Locates the test source files of a project: every Java file under the configured sourcepath
+ * entries that look like test roots, falling back to {@code src/test/java} when those yield nothing.
+ * The roots are walked by a {@link SourceWalker}.
+ */
+public final class TestSourceLocator {
+    private static final String DEFAULT_TEST_SOURCE_PATH = "src/test/java";
+
+    private TestSourceLocator() {
+    }
+
+    /**
+     * Returns a lazy stream of the project's test source files, walked with the default options.
+     *
+     * @see #streamTestJavaFiles(Path, ParserConfig, DiscoveryOptions)
+     */
+    public static Stream<Path> streamTestJavaFiles(Path projectRoot, ParserConfig config) {
+        return streamTestJavaFiles(projectRoot, config, DiscoveryOptions.defaults());
+    }
+
+    /**
+     * Returns a lazy stream of the project's test source files. Directories are only walked as the
+     * stream is consumed, and the fallback root is only walked if the configured roots yielded no file.
+     * The stream holds open directory handles and must be closed.
+     *
+     * @param projectRoot The root directory of the project.
+     * @param config The detected configuration whose sourcepath entries name the test roots.
+     * @param options The {@link DiscoveryOptions} whose excludes prune the walk.
+     * @return A lazy stream of Java test source files.
+     */
+    public static Stream<Path> streamTestJavaFiles(Path projectRoot, ParserConfig config, DiscoveryOptions options) {
+        SourceWalker walker = new SourceWalker(projectRoot, options.getExcludes());
+        List<Path> testRoots = findConfiguredTestRoots(projectRoot, config);
+        AtomicBoolean foundConfiguredFile = new AtomicBoolean();
+        Stream<Path> configuredFiles = walker.stream(testRoots)
+                .peek(javaFile -> foundConfiguredFile.set(true));
+        // Evaluated only once the configured roots are exhausted
+        Stream<Path> fallbackFiles = Stream.of(getDefaultTestRoot(projectRoot))
+                .flatMap(defaultRoot -> !foundConfiguredFile.get() && Files.isDirectory(defaultRoot)
+                        ? walker.stream(List.of(defaultRoot))
+                        : Stream.empty());
+        return Stream.concat(configuredFiles, fallbackFiles);
+    }
+
+    /**
+     * Returns the sourcepath entries of the configuration that exist and look like test roots.
+     * Entries nested inside another one are dropped, so no file is walked twice.
+     *
+     * @param projectRoot The root directory of the project, against which relative entries are resolved.
+     * @param config The detected configuration.
+     * @return The configured test roots, in sourcepath order.
+     */
+    public static List<Path> findConfiguredTestRoots(Path projectRoot, ParserConfig config) {
+        List<Path> testRoots = new ArrayList<>();
+        String[] sourcePaths = config.getSourcepathEntries();
+        if (sourcePaths != null) {
+            for (String sourcePathStr : sourcePaths) {
+                Path sourcePath = projectRoot.resolve(sourcePathStr);
+                if (Files.isDirectory(sourcePath) && sourcePath.toString().contains("test")) {
+                    testRoots.add(sourcePath);
+                }
+            }
+        }
+        return SourceWalker.mergeRoots(testRoots);
+    }
+
+    /**
+     * Returns the root searched when the configured test roots yield no file.
+     */
+    public static Path getDefaultTestRoot(Path projectRoot) {
+        return projectRoot.resolve(DEFAULT_TEST_SOURCE_PATH);
+    }
+
+    /**
+     * Collects all test source files of the project into a list, walked with the default options.
+     *
+     * @see #findTestJavaFiles(Path, ParserConfig, DiscoveryOptions)
+     */
+    public static List<Path> findTestJavaFiles(Path projectRoot, ParserConfig config) throws IOException {
+        return findTestJavaFiles(projectRoot, config, DiscoveryOptions.defaults());
+    }
+
+    /**
+     * Collects all test source files of the project into a list, walking the configured test roots
+     * in parallel if the options ask for it.
+     *
+     * @param projectRoot The root directory of the project.
+     * @param config The detected configuration whose sourcepath entries name the test roots.
+     * @param options The {@link DiscoveryOptions} whose excludes prune the walk.
+     * @return The Java test source files, in root order.
+     * @throws IOException if a test root cannot be walked.
+     */
+    public static List<Path> findTestJavaFiles(Path projectRoot, ParserConfig config, DiscoveryOptions options) throws IOException {
+        long start = System.nanoTime();
+        SourceWalker walker = new SourceWalker(projectRoot, options.getExcludes());
+        List<Path> testJavaFiles = walker.walk(findConfiguredTestRoots(projectRoot, config), options.isParallelWalk());
+        if (testJavaFiles.isEmpty()) {
+            testJavaFiles = walker.walk(List.of(getDefaultTestRoot(projectRoot)), false);
+        }
+        DiscoveryMetrics.global().recordSince(Phase.WALK, start);
+        return testJavaFiles;
+    }
+}
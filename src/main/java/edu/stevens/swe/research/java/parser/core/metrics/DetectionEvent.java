@@ -0,0 +1,19 @@
+package edu.stevens.swe.research.java.parser.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Detection of the build tool and parser configuration of a project.
+ */
+@Name("edu.stevens.swe.research.java.parser.core.Detection")
+@Label("Build Tool Detection")
+@Category({"Parser Core", "Detection"})
+public class DetectionEvent extends DiscoveryEvent {
+
+    @Label("Detector")
+    @Description("The detector that supported the project, if any")
+    public String detector;
+}
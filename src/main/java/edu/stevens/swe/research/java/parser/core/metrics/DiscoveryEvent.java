@@ -0,0 +1,53 @@
+package edu.stevens.swe.research.java.parser.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the Java Flight Recorder events of the library. Every event records the file or project it is
+ * about, how long the work took, and its outcome.
+ * <p>
+ * Use an event by calling {@link #begin()} before the work and {@link #finish(String, String)} after it.
+ * While no recording is enabling the event, both are no-ops and the event object does not escape, so the JIT
+ * removes it.
+ */
+@Category("Parser Core")
+@StackTrace(false)
+public abstract class DiscoveryEvent extends Event {
+    public static final String SUCCESS = "success";
+    public static final String FAILED = "failed";
+    public static final String SKIPPED = "skipped";
+    public static final String TIMED_OUT = "timed out";
+    public static final String CANCELED = "canceled";
+
+    @Label("Path")
+    String path;
+
+    @Label("Outcome")
+    String outcome;
+
+    // Not recorded: JFR ignores transient fields
+    private transient boolean finished;
+
+    /**
+     * Ends the event and commits it if a recording wants it. Only the first call has an effect, so error
+     * handlers may finish an event that might already be finished.
+     *
+     * @param path The file or project the work was about, or {@code null} if there is no single one.
+     * @param outcome One of the outcome constants of this class.
+     */
+    public void finish(String path, String outcome) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        end();
+        if (shouldCommit()) {
+            this.path = path;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package edu.stevens.swe.research.java.parser.core.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Timers for every {@link Phase} of test discovery and named counters, shared by the whole library.
+ * <p>
+ * Recording costs a few atomic additions, so it is always on. Measurements can be read directly, observed with
+ * a {@link MetricsListener}, or exposed over JMX with {@link #registerMBean()}; registration is left to the
+ * application so that short-lived runs do not load the JMX classes.
+ */
+public class DiscoveryMetrics implements DiscoveryMetricsMXBean {
+    public static final String OBJECT_NAME = "edu.stevens.swe.research.java.parser.core:type=DiscoveryMetrics";
+
+    /** Files handed to the parser. */
+    public static final String FILES_PARSED = "files.parsed";
+    /** Files the annotation pre-filter ruled out without parsing. */
+    public static final String FILES_SKIPPED = "files.skipped";
+    /** Files served from the discovery cache. */
+    public static final String FILES_CACHED = "files.cached";
+    /** Files skipped because parsing them exceeded the per-file budget. */
+    public static final String FILES_TIMED_OUT = "files.timedOut";
+    /** Parent POMs served from the shared POM model cache. */
+    public static final String POM_CACHE_HITS = "pom.cache.hits";
+    /** Parent POMs parsed because they were not cached or changed on disk. */
+    public static final String POM_CACHE_MISSES = "pom.cache.misses";
+
+    private static final DiscoveryMetrics GLOBAL = new DiscoveryMetrics();
+
+    private final Map<Phase, Timer> phases = new EnumMap<>(Phase.class);
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final List<MetricsListener> listeners = new CopyOnWriteArrayList<>();
+
+    public DiscoveryMetrics() {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new Timer());
+        }
+    }
+
+    /**
+     * Returns the metrics the library records into.
+     */
+    public static DiscoveryMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Registers the global metrics with the platform MBean server under {@link #OBJECT_NAME}.
+     * Registering more than once has no effect.
+     */
+    public static void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(GLOBAL, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Already registered
+        } catch (JMException e) {
+            System.err.println("Error registering discovery metrics MBean - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records one unit of work of the given phase.
+     *
+     * @param phase The phase.
+     * @param nanos How long it took, e.g. the difference of two {@link System#nanoTime()} values.
+     */
+    public void record(Phase phase, long nanos) {
+        phases.get(phase).record(nanos);
+        if (!listeners.isEmpty()) {
+            for (MetricsListener listener : listeners) {
+                listener.phaseCompleted(phase, nanos);
+            }
+        }
+    }
+
+    /**
+     * Records the work of the given phase that started at the given {@link System#nanoTime()} value and ends now.
+     */
+    public void recordSince(Phase phase, long startNanos) {
+        record(phase, System.nanoTime() - startNanos);
+    }
+
+    public void increment(String counter) {
+        add(counter, 1);
+    }
+
+    public void add(String counter, long delta) {
+        counters.computeIfAbsent(counter, name -> new LongAdder()).add(delta);
+        if (!listeners.isEmpty()) {
+            for (MetricsListener listener : listeners) {
+                listener.counterIncreased(counter, delta);
+            }
+        }
+    }
+
+    public void addListener(MetricsListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(MetricsListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Getters
+    public Timer getTimer(Phase phase) { return phases.get(phase); }
+
+    public long getCounter(String counter) {
+        LongAdder adder = counters.get(counter);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Override
+    public Map<String, Long> getPhaseCounts() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<Phase, Timer> entry : phases.entrySet()) {
+            result.put(entry.getKey().name(), entry.getValue().getCount());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getPhaseTotalMillis() {
+        return phaseMillis(Timer::getTotalNanos);
+    }
+
+    @Override
+    public Map<String, Double> getPhaseMeanMillis() {
+        return phaseMillis(Timer::getMeanNanos);
+    }
+
+    @Override
+    public Map<String, Double> getPhaseP99Millis() {
+        return phaseMillis(timer -> timer.getPercentileNanos(0.99));
+    }
+
+    @Override
+    public Map<String, Double> getPhaseMaxMillis() {
+        return phaseMillis(Timer::getMaxNanos);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().sum());
+        }
+        return result;
+    }
+
+    @Override
+    public long[] getPhaseHistogram(String phase) {
+        return phases.get(Phase.valueOf(phase)).getHistogram();
+    }
+
+    @Override
+    public void reset() {
+        for (Timer timer : phases.values()) {
+            timer.reset();
+        }
+        for (LongAdder counter : counters.values()) {
+            counter.reset();
+        }
+    }
+
+    private Map<String, Double> phaseMillis(ToDoubleFunction<Timer> nanos) {
+        Map<String, Double> result = new TreeMap<>();
+        for (Map.Entry<Phase, Timer> entry : phases.entrySet()) {
+            result.put(entry.getKey().name(), nanos.applyAsDouble(entry.getValue()) / 1_000_000.0);
+        }
+        return result;
+    }
+}
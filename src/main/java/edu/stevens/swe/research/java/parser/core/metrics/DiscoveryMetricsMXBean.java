@@ -0,0 +1,34 @@
+package edu.stevens.swe.research.java.parser.core.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of {@link DiscoveryMetrics}. Maps are keyed by phase or counter name; durations are in
+ * milliseconds, fractional where it matters.
+ */
+public interface DiscoveryMetricsMXBean {
+
+    Map<String, Long> getPhaseCounts();
+
+    Map<String, Double> getPhaseTotalMillis();
+
+    Map<String, Double> getPhaseMeanMillis();
+
+    Map<String, Double> getPhaseP99Millis();
+
+    Map<String, Double> getPhaseMaxMillis();
+
+    Map<String, Long> getCounters();
+
+    /**
+     * Returns the histogram buckets of a phase, see {@link Timer}.
+     *
+     * @param phase The name of the phase, e.g. {@code PARSE}.
+     */
+    long[] getPhaseHistogram(String phase);
+
+    /**
+     * Clears every timer and counter.
+     */
+    void reset();
+}
@@ -0,0 +1,17 @@
+package edu.stevens.swe.research.java.parser.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Fetch of one model from the Gradle Tooling API, usually the slowest step of detecting a Gradle project.
+ */
+@Name("edu.stevens.swe.research.java.parser.core.GradleModelFetch")
+@Label("Gradle Model Fetch")
+@Category({"Parser Core", "Detection"})
+public class GradleModelFetchEvent extends DiscoveryEvent {
+
+    @Label("Model")
+    public String model;
+}
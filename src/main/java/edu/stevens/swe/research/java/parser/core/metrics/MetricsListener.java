@@ -0,0 +1,25 @@
+package edu.stevens.swe.research.java.parser.core.metrics;
+
+/**
+ * Receives every measurement {@link DiscoveryMetrics} records, e.g. to forward it to another metrics system.
+ * Listeners are called on the thread that did the work, so they must be fast and thread-safe.
+ */
+public interface MetricsListener {
+
+    /**
+     * Called when one unit of work of a phase completed.
+     *
+     * @param phase The phase.
+     * @param nanos How long the work took.
+     */
+    void phaseCompleted(Phase phase, long nanos);
+
+    /**
+     * Called when a counter was increased.
+     *
+     * @param name The name of the counter.
+     * @param delta The amount it was increased by.
+     */
+    default void counterIncreased(String name, long delta) {
+    }
+}
@@ -0,0 +1,18 @@
+package edu.stevens.swe.research.java.parser.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A createAST call for one file, or a createASTs call for a batch. A batch has no path and includes the
+ * visits of its files, which are recorded as {@link VisitEvent}s of their own.
+ */
+@Name("edu.stevens.swe.research.java.parser.core.Parse")
+@Label("Parse")
+@Category({"Parser Core", "Discovery"})
+public class ParseEvent extends DiscoveryEvent {
+
+    @Label("Files")
+    public int files;
+}
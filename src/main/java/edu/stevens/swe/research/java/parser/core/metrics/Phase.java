@@ -0,0 +1,31 @@
+package edu.stevens.swe.research.java.parser.core.metrics;
+
+/**
+ * The phases of test discovery that {@link DiscoveryMetrics} times.
+ */
+public enum Phase {
+    /**
+     * Build tool detection of a project's {@link edu.stevens.swe.research.java.parser.core.core.ParserConfig}.
+     */
+    DETECT,
+
+    /**
+     * Walking the test roots for test source files, once per project.
+     */
+    WALK,
+
+    /**
+     * Reading and decoding one test source file.
+     */
+    READ,
+
+    /**
+     * Parsing one test source file, or one batch of files handed to JDT at once.
+     */
+    PARSE,
+
+    /**
+     * Visiting the AST of one test source file for test methods.
+     */
+    VISIT
+}
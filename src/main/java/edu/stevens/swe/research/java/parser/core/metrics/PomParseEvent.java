@@ -0,0 +1,14 @@
+package edu.stevens.swe.research.java.parser.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Parsing of one POM or Maven settings file.
+ */
+@Name("edu.stevens.swe.research.java.parser.core.PomParse")
+@Label("POM Parse")
+@Category({"Parser Core", "Detection"})
+public class PomParseEvent extends DiscoveryEvent {
+}
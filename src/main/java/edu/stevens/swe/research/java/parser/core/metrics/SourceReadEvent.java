@@ -0,0 +1,20 @@
+package edu.stevens.swe.research.java.parser.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Reading of one test source file, including the pre-filter check. A file the pre-filter rules out is
+ * {@link #SKIPPED}.
+ */
+@Name("edu.stevens.swe.research.java.parser.core.SourceRead")
+@Label("Source Read")
+@Category({"Parser Core", "Discovery"})
+public class SourceReadEvent extends DiscoveryEvent {
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,103 @@
+package edu.stevens.swe.research.java.parser.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts and sums durations and keeps a histogram of them, cheaply enough to record every file.
+ * <p>
+ * The histogram has one bucket per power of two microseconds: bucket 0 counts durations under 1 &micro;s,
+ * bucket {@code i} those from 2<sup>i-1</sup> up to 2<sup>i</sup> &micro;s, and the last bucket everything longer.
+ * Recording is lock-free and safe from any thread.
+ */
+public class Timer {
+    static final int BUCKETS = 32;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        histogram.incrementAndGet(bucketOf(nanos));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getMeanNanos() {
+        long samples = getCount();
+        return samples == 0 ? 0 : getTotalNanos() / samples;
+    }
+
+    /**
+     * Returns a copy of the histogram buckets.
+     */
+    public long[] getHistogram() {
+        long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = histogram.get(i);
+        }
+        return buckets;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile, e.g. 0.99, from the histogram: the upper edge of the
+     * bucket it falls in, capped at the longest duration recorded.
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] buckets = getHistogram();
+        long samples = 0;
+        for (long bucket : buckets) {
+            samples += bucket;
+        }
+        if (samples == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * samples);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(getMaxNanos(), upperBoundNanos(i));
+            }
+        }
+        return getMaxNanos();
+    }
+
+    public void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+    }
+
+    static int bucketOf(long nanos) {
+        long micros = nanos / 1_000;
+        // 0 for < 1 us, otherwise one more than the index of the highest bit
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    static long upperBoundNanos(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) * 1_000;
+    }
+}
@@ -0,0 +1,17 @@
+package edu.stevens.swe.research.java.parser.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One TestAstVisitor pass over a parsed file.
+ */
+@Name("edu.stevens.swe.research.java.parser.core.Visit")
+@Label("Test Visit")
+@Category({"Parser Core", "Discovery"})
+public class VisitEvent extends DiscoveryEvent {
+
+    @Label("Test Cases")
+    public int testCases;
+}
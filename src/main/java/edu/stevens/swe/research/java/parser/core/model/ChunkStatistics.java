@@ -0,0 +1,53 @@
+package edu.stevens.swe.research.java.parser.core.model;
+
+/**
+ * Heap usage while one chunk of test files was parsed in bounded-memory discovery.
+ * Heap figures are the heap occupancy after the last garbage collection, sampled after each parsed file and
+ * at the end of the chunk, so they exclude garbage but lag behind allocations made since that collection.
+ */
+public class ChunkStatistics {
+    private final int chunkIndex;
+    private final int fileCount;
+    private final long peakHeapBytes;
+    private final long averageHeapBytes;
+    private final long elapsedMillis;
+
+    public ChunkStatistics(int chunkIndex, int fileCount, long peakHeapBytes, long averageHeapBytes, long elapsedMillis) {
+        this.chunkIndex = chunkIndex;
+        this.fileCount = fileCount;
+        this.peakHeapBytes = peakHeapBytes;
+        this.averageHeapBytes = averageHeapBytes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    public long getAverageHeapBytes() {
+        return averageHeapBytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkStatistics{" +
+               "chunkIndex=" + chunkIndex +
+               ", fileCount=" + fileCount +
+               ", peakHeapBytes=" + peakHeapBytes +
+               ", averageHeapBytes=" + averageHeapBytes +
+               ", elapsedMillis=" + elapsedMillis +
+               '}';
+    }
+}
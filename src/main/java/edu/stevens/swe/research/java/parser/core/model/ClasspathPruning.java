@@ -0,0 +1,63 @@
+package edu.stevens.swe.research.java.parser.core.model;
+
+/**
+ * How much import-driven classpath pruning shrank the classpath handed to the parser.
+ */
+public class ClasspathPruning {
+    private final int originalEntries;
+    private final int keptEntries;
+    private final int importedPackages;
+    private final long elapsedMillis;
+
+    public ClasspathPruning(int originalEntries, int keptEntries, int importedPackages, long elapsedMillis) {
+        this.originalEntries = originalEntries;
+        this.keptEntries = keptEntries;
+        this.importedPackages = importedPackages;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Number of classpath entries of the detected configuration.
+     */
+    public int getOriginalEntries() {
+        return originalEntries;
+    }
+
+    /**
+     * Number of classpath entries the parser was given.
+     */
+    public int getKeptEntries() {
+        return keptEntries;
+    }
+
+    /**
+     * Number of distinct packages imported by the parsed files.
+     */
+    public int getImportedPackages() {
+        return importedPackages;
+    }
+
+    /**
+     * Time spent collecting imports and indexing jars, including jars served from the index cache.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Share of the classpath entries that were dropped, between 0 and 1.
+     */
+    public double getReduction() {
+        return originalEntries == 0 ? 0 : 1 - (double) keptEntries / originalEntries;
+    }
+
+    @Override
+    public String toString() {
+        return "ClasspathPruning{" +
+               "originalEntries=" + originalEntries +
+               ", keptEntries=" + keptEntries +
+               ", importedPackages=" + importedPackages +
+               ", elapsedMillis=" + elapsedMillis +
+               '}';
+    }
+}
@@ -0,0 +1,195 @@
+package edu.stevens.swe.research.java.parser.core.model;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of discovering the test cases of a project: the test cases themselves and
+ * how many test files were parsed, skipped by the pre-filter, or served from the cache.
+ * A result is partial when the discovery deadline stopped parsing before every file was seen.
+ */
+public class DiscoveryResult {
+    private final List<TestCaseInfo> testCases;
+    private final int totalFiles;
+    private final long parsedFiles;
+    private final long skippedFiles;
+    private final long cachedFiles;
+    private final List<ChunkStatistics> chunks;
+    private final List<Path> timedOutFiles;
+    private final boolean partial;
+    private final ClasspathPruning classpathPruning;
+
+    public DiscoveryResult(List<TestCaseInfo> testCases, int totalFiles, long parsedFiles, long skippedFiles, long cachedFiles) {
+        this(new Builder()
+                .testCases(testCases)
+                .totalFiles(totalFiles)
+                .parsedFiles(parsedFiles)
+                .skippedFiles(skippedFiles)
+                .cachedFiles(cachedFiles));
+    }
+
+    private DiscoveryResult(Builder builder) {
+        this.testCases = Collections.unmodifiableList(builder.testCases);
+        this.totalFiles = builder.totalFiles;
+        this.parsedFiles = builder.parsedFiles;
+        this.skippedFiles = builder.skippedFiles;
+        this.cachedFiles = builder.cachedFiles;
+        this.chunks = Collections.unmodifiableList(builder.chunks);
+        this.timedOutFiles = Collections.unmodifiableList(builder.timedOutFiles);
+        this.partial = builder.partial;
+        this.classpathPruning = builder.classpathPruning;
+    }
+
+    // Builder pattern implementation
+    public static class Builder {
+        private List<TestCaseInfo> testCases = new ArrayList<>();
+        private int totalFiles;
+        private long parsedFiles;
+        private long skippedFiles;
+        private long cachedFiles;
+        private List<ChunkStatistics> chunks = new ArrayList<>();
+        private List<Path> timedOutFiles = new ArrayList<>();
+        private boolean partial;
+        private ClasspathPruning classpathPruning;
+
+        public Builder testCases(List<TestCaseInfo> testCases) {
+            this.testCases = testCases;
+            return this;
+        }
+
+        public Builder totalFiles(int totalFiles) {
+            this.totalFiles = totalFiles;
+            return this;
+        }
+
+        public Builder parsedFiles(long parsedFiles) {
+            this.parsedFiles = parsedFiles;
+            return this;
+        }
+
+        public Builder skippedFiles(long skippedFiles) {
+            this.skippedFiles = skippedFiles;
+            return this;
+        }
+
+        public Builder cachedFiles(long cachedFiles) {
+            this.cachedFiles = cachedFiles;
+            return this;
+        }
+
+        public Builder chunks(List<ChunkStatistics> chunks) {
+            this.chunks = chunks;
+            return this;
+        }
+
+        public Builder timedOutFiles(List<Path> timedOutFiles) {
+            this.timedOutFiles = timedOutFiles;
+            return this;
+        }
+
+        public Builder partial(boolean partial) {
+            this.partial = partial;
+            return this;
+        }
+
+        public Builder classpathPruning(ClasspathPruning classpathPruning) {
+            this.classpathPruning = classpathPruning;
+            return this;
+        }
+
+        public DiscoveryResult build() {
+            return new DiscoveryResult(this);
+        }
+    }
+
+    public List<TestCaseInfo> getTestCases() {
+        return testCases;
+    }
+
+    /**
+     * Number of test source files found in the project. For a partial bounded-memory discovery, only the
+     * files walked before the deadline are counted.
+     */
+    public int getTotalFiles() {
+        return totalFiles;
+    }
+
+    /**
+     * Number of test source files handed to the parser.
+     */
+    public long getParsedFiles() {
+        return parsedFiles;
+    }
+
+    /**
+     * Number of test source files the pre-filter ruled out without parsing them.
+     */
+    public long getSkippedFiles() {
+        return skippedFiles;
+    }
+
+    /**
+     * Number of test source files whose test cases were served from the discovery cache.
+     */
+    public long getCachedFiles() {
+        return cachedFiles;
+    }
+
+    /**
+     * Heap usage of every chunk in bounded-memory discovery; empty for the other discovery modes.
+     */
+    public List<ChunkStatistics> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * The highest heap usage sampled over all chunks, or 0 if discovery was not bounded.
+     */
+    public long getPeakHeapBytes() {
+        long peak = 0;
+        for (ChunkStatistics chunk : chunks) {
+            peak = Math.max(peak, chunk.getPeakHeapBytes());
+        }
+        return peak;
+    }
+
+    /**
+     * Test source files skipped because parsing them exceeded the per-file budget.
+     * Their test cases are missing from {@link #getTestCases()}.
+     */
+    public List<Path> getTimedOutFiles() {
+        return timedOutFiles;
+    }
+
+    /**
+     * Whether the discovery deadline was reached before every file was parsed, so that
+     * {@link #getTestCases()} only holds the test cases found until then.
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    /**
+     * How much the classpath was pruned before parsing, or {@code null} if it was not.
+     */
+    public ClasspathPruning getClasspathPruning() {
+        return classpathPruning;
+    }
+
+    @Override
+    public String toString() {
+        return "DiscoveryResult{" +
+               "testCases=" + testCases.size() +
+               ", totalFiles=" + totalFiles +
+               ", parsedFiles=" + parsedFiles +
+               ", skippedFiles=" + skippedFiles +
+               ", cachedFiles=" + cachedFiles +
+               (chunks.isEmpty() ? "" : ", chunks=" + chunks.size() + ", peakHeapBytes=" + getPeakHeapBytes()) +
+               (timedOutFiles.isEmpty() ? "" : ", timedOutFiles=" + timedOutFiles.size()) +
+               (partial ? ", partial=true" : "") +
+               (classpathPruning == null ? "" : ", classpathPruning=" + classpathPruning) +
+               '}';
+    }
+}
@@ -0,0 +1,67 @@
+package edu.stevens.swe.research.java.parser.core.model;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of discovering the test cases of one project of a workspace: either the
+ * {@link DiscoveryResult} of the project or the failure that prevented it.
+ */
+public class ProjectDiscoveryResult {
+    private final Path projectRoot;
+    private final DiscoveryResult result;
+    private final Exception failure;
+    private final long elapsedMillis;
+
+    private ProjectDiscoveryResult(Path projectRoot, DiscoveryResult result, Exception failure, long elapsedMillis) {
+        this.projectRoot = projectRoot;
+        this.result = result;
+        this.failure = failure;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public static ProjectDiscoveryResult success(Path projectRoot, DiscoveryResult result, long elapsedMillis) {
+        return new ProjectDiscoveryResult(projectRoot, result, null, elapsedMillis);
+    }
+
+    public static ProjectDiscoveryResult failure(Path projectRoot, Exception failure, long elapsedMillis) {
+        return new ProjectDiscoveryResult(projectRoot, null, failure, elapsedMillis);
+    }
+
+    public Path getProjectRoot() {
+        return projectRoot;
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /**
+     * Returns the discovery result, or {@code null} if the project failed.
+     */
+    public DiscoveryResult getResult() {
+        return result;
+    }
+
+    /**
+     * Returns the exception that made detection or discovery fail, or {@code null} on success.
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    /**
+     * Wall-clock time spent on detection and discovery of the project, including waiting for a parse slot.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectDiscoveryResult{" +
+               "projectRoot=" + projectRoot +
+               (isSuccess() ? ", result=" + result : ", failure=" + failure) +
+               ", elapsedMillis=" + elapsedMillis +
+               '}';
+    }
+}
@@ -1,5 +1,7 @@
 package edu.stevens.swe.research.java.parser.core.model;
 
+import java.util.Objects;
+
 public class TestCaseInfo {
     private final String className;
     private final String methodName;
@@ -23,6 +25,21 @@ public class TestCaseInfo {
         return absolutePath;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TestCaseInfo that = (TestCaseInfo) o;
+        return Objects.equals(className, that.className) &&
+               Objects.equals(methodName, that.methodName) &&
+               Objects.equals(absolutePath, that.absolutePath);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(className, methodName, absolutePath);
+    }
+
     @Override
     public String toString() {
         return "TestCaseInfo{" +
@@ -0,0 +1,37 @@
+package edu.stevens.swe.research.java.parser.core.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The outcome of discovering the test cases of every project in a workspace, with successful
+ * and failed projects reported separately. Projects are listed in the order they were given.
+ */
+public class WorkspaceDiscoveryResult {
+    private final List<ProjectDiscoveryResult> projects;
+
+    public WorkspaceDiscoveryResult(List<ProjectDiscoveryResult> projects) {
+        this.projects = Collections.unmodifiableList(projects);
+    }
+
+    public List<ProjectDiscoveryResult> getProjects() {
+        return projects;
+    }
+
+    public List<ProjectDiscoveryResult> getSuccesses() {
+        return projects.stream().filter(ProjectDiscoveryResult::isSuccess).collect(Collectors.toList());
+    }
+
+    public List<ProjectDiscoveryResult> getFailures() {
+        return projects.stream().filter(project -> !project.isSuccess()).collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return "WorkspaceDiscoveryResult{" +
+               "projects=" + projects.size() +
+               ", failures=" + getFailures().size() +
+               '}';
+    }
+}
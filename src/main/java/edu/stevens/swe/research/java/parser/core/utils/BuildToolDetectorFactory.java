@@ -1,46 +1,269 @@
 package edu.stevens.swe.research.java.parser.core.utils;
 
 import edu.stevens.swe.research.java.parser.core.core.ParserConfig;
+import edu.stevens.swe.research.java.parser.core.metrics.DetectionEvent;
+import edu.stevens.swe.research.java.parser.core.metrics.DiscoveryEvent;
 import edu.stevens.swe.research.java.parser.core.utils.exceptions.ProjectDetectionException;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Registry of the build tool detectors, and the entry point for detecting a project's configuration.
+ * <p>
+ * Detection results are memoized per canonical project root for the lifetime of the JVM: the first caller
+ * for a root runs the detectors while concurrent callers for the same root wait for its result, and later
+ * callers get it at once. Failed detections are not memoized. Call {@link #invalidate(Path)} when a build file
+ * of a project changed. The registry is safe to use and to extend from any thread.
+ * <p>
+ * Detectors are found with {@link ServiceLoader} as {@link ProjectDetectorProvider}s. A detector is only
+ * created once its provider's cheap {@code supports} probe accepts a project, so e.g. detecting Maven projects
+ * never loads the Gradle Tooling API.
+ */
 public class BuildToolDetectorFactory {
-    private static final List<ProjectDetector> detectors = new ArrayList<>();
+    private static final List<LazyDetector> detectors = new CopyOnWriteArrayList<>();
+    private static final ConcurrentMap<Path, CompletableFuture<ParserConfig>> detections = new ConcurrentHashMap<>();
 
     static {
-        // Register available detectors
-        detectors.add(new MavenDetector());
-        detectors.add(new GradleDetector());
+        // Register the detectors of every provider on the classpath, in the order they ask for
+        List<ProjectDetectorProvider> providers = new ArrayList<>();
+        ServiceLoader.load(ProjectDetectorProvider.class, BuildToolDetectorFactory.class.getClassLoader())
+                .forEach(providers::add);
+        providers.sort(Comparator.comparingInt(ProjectDetectorProvider::order));
+        for (ProjectDetectorProvider provider : providers) {
+            DebugLog.debug("Registering detector provider: {}", provider.name());
+            detectors.add(new LazyDetector(provider));
+        }
     }
 
     /**
-     * Detect the build tool and configuration for the given project root
+     * Detect the build tool and configuration for the given project root. A root detected before is
+     * answered from memory; if another thread is detecting it, this waits for that detection.
      * @param projectRoot The root directory of the project
      * @return ParserConfig containing the detected configuration
      * @throws ProjectDetectionException if no suitable build tool is found or detection fails
      */
     public static ParserConfig detect(Path projectRoot) throws ProjectDetectionException {
-        System.out.println("DEBUG: BuildToolDetectorFactory.detect() called for project: " + projectRoot);
-        for (ProjectDetector detector : detectors) {
-            System.out.println("DEBUG: Trying detector: " + detector.getClass().getSimpleName());
-            if (detector.supports(projectRoot)) {
-                System.out.println("DEBUG: Using detector: " + detector.getClass().getSimpleName() + " for project: " + projectRoot);
-                return detector.detect(projectRoot);
-            } else {
-                System.out.println("DEBUG: Detector " + detector.getClass().getSimpleName() + " does not support project: " + projectRoot);
+        Path root = canonicalize(projectRoot);
+        CompletableFuture<ParserConfig> detection = detections.get(root);
+        if (detection == null) {
+            CompletableFuture<ParserConfig> created = new CompletableFuture<>();
+            detection = detections.putIfAbsent(root, created);
+            if (detection == null) {
+                detection = created;
+                // Run outside the map so detections of other roots are never blocked. Every spelling shares
+                // this detection, so run it on the normalized one: root/missing/.. cannot be read through
+                try {
+                    created.complete(runDetectors(projectRoot.toAbsolutePath().normalize()));
+                } catch (Throwable t) {
+                    detections.remove(root, created);
+                    created.completeExceptionally(t);
+                }
+            }
+        }
+        try {
+            return detection.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ProjectDetectionException) {
+                throw (ProjectDetectionException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ProjectDetectionException("Detection failed for: " + projectRoot, cause);
+        }
+    }
+
+    /**
+     * Whether a registered detector supports the given directory. Only the cheap probes of the providers run,
+     * so no detector is created and e.g. the Gradle Tooling API is not loaded.
+     */
+    public static boolean isSupported(Path projectRoot) {
+        for (LazyDetector lazyDetector : detectors) {
+            if (lazyDetector.supports(projectRoot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forgets the detected configuration of the given project, so the next {@link #detect(Path)} runs the
+     * detectors again. A detection in progress is not interrupted, but its result is not kept.
+     *
+     * @return Whether a configuration was memoized for the project.
+     */
+    public static boolean invalidate(Path projectRoot) {
+        return detections.remove(canonicalize(projectRoot)) != null;
+    }
+
+    /**
+     * Forgets the detected configuration of every project.
+     */
+    public static void invalidateAll() {
+        detections.clear();
+    }
+
+    private static ParserConfig runDetectors(Path projectRoot) throws ProjectDetectionException {
+        DebugLog.debug("BuildToolDetectorFactory.detect() called for project: {}", projectRoot);
+        DetectionEvent event = new DetectionEvent();
+        event.begin();
+        String outcome = DiscoveryEvent.FAILED;
+        try {
+            for (LazyDetector lazyDetector : detectors) {
+                DebugLog.debug("Trying detector: {}", lazyDetector.name());
+                if (lazyDetector.supports(projectRoot)) {
+                    DebugLog.debug("Using detector: {} for project: {}", lazyDetector.name(), projectRoot);
+                    event.detector = lazyDetector.name();
+                    ParserConfig config = lazyDetector.get().detect(projectRoot);
+                    outcome = DiscoveryEvent.SUCCESS;
+                    return config;
+                } else {
+                    DebugLog.debug("Detector {} does not support project: {}", lazyDetector.name(), projectRoot);
+                }
             }
+            throw new ProjectDetectionException("No supported build tool found in: " + projectRoot);
+        } finally {
+            event.finish(String.valueOf(projectRoot), outcome);
         }
-        throw new ProjectDetectionException("No supported build tool found in: " + projectRoot);
     }
 
     /**
-     * Add a custom detector to the factory
+     * Add a custom detector to the factory. It is consulted after the detectors registered before it.
+     * Memoized configurations are forgotten, since the new detector may change them.
      * @param detector The detector to add
      */
     public static void addDetector(ProjectDetector detector) {
-        detectors.add(detector);
+        addProvider(new DetectorProvider(detector));
+    }
+
+    /**
+     * Remove a detector added with {@link #addDetector(ProjectDetector)}. Memoized configurations are
+     * forgotten, since they may have been detected by it.
+     * @param detector The detector to remove
+     * @return Whether the detector was registered
+     */
+    public static boolean removeDetector(ProjectDetector detector) {
+        boolean removed = detectors.removeIf(lazyDetector -> lazyDetector.provider instanceof DetectorProvider
+                && ((DetectorProvider) lazyDetector.provider).detector == detector);
+        if (removed) {
+            invalidateAll();
+        }
+        return removed;
+    }
+
+    /**
+     * Add a detector provider that is not registered as a service. It is consulted after the detectors
+     * registered before it, regardless of its {@link ProjectDetectorProvider#order() order}. Memoized
+     * configurations are forgotten, since the new detector may change them.
+     * @param provider The provider to add
+     */
+    public static void addProvider(ProjectDetectorProvider provider) {
+        detectors.add(new LazyDetector(provider));
+        invalidateAll();
+    }
+
+    /**
+     * Remove a provider added with {@link #addProvider(ProjectDetectorProvider)}, along with its detector.
+     * Memoized configurations are forgotten, since they may have been detected by it.
+     * @param provider The provider to remove
+     * @return Whether the provider was registered
+     */
+    public static boolean removeProvider(ProjectDetectorProvider provider) {
+        boolean removed = detectors.removeIf(lazyDetector -> lazyDetector.provider == provider);
+        if (removed) {
+            invalidateAll();
+        }
+        return removed;
+    }
+
+    /**
+     * Resolves relative segments and then symbolic links, so every spelling of a root shares one detection.
+     * When the path does not exist, the links of its longest existing ancestor are still resolved, so a
+     * root under a linked directory (e.g. {@code /var} on macOS) gets the same key either way.
+     */
+    private static Path canonicalize(Path projectRoot) {
+        Path normalized = projectRoot.toAbsolutePath().normalize();
+        for (Path existing = normalized; existing != null; existing = existing.getParent()) {
+            try {
+                return existing.toRealPath().resolve(existing.relativize(normalized));
+            } catch (IOException e) {
+                // Does not exist (or cannot be read), so resolve the links of its parent
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Provides a detector that was added as an instance, probing with its own {@code supports}.
+     */
+    private static final class DetectorProvider implements ProjectDetectorProvider {
+        private final ProjectDetector detector;
+
+        private DetectorProvider(ProjectDetector detector) {
+            this.detector = detector;
+        }
+
+        @Override
+        public String name() {
+            return detector.getClass().getSimpleName();
+        }
+
+        @Override
+        public boolean supports(Path projectRoot) {
+            return detector.supports(projectRoot);
+        }
+
+        @Override
+        public ProjectDetector create() {
+            return detector;
+        }
+    }
+
+    /**
+     * Holds the detector of a provider, which is created the first time the provider supports a project.
+     */
+    private static final class LazyDetector {
+        private final ProjectDetectorProvider provider;
+        private volatile ProjectDetector detector;
+
+        private LazyDetector(ProjectDetectorProvider provider) {
+            this.provider = provider;
+        }
+
+        private String name() {
+            return provider.name();
+        }
+
+        private boolean supports(Path projectRoot) {
+            return provider.supports(projectRoot);
+        }
+
+        private ProjectDetector get() {
+            ProjectDetector result = detector;
+            if (result == null) {
+                synchronized (this) {
+                    result = detector;
+                    if (result == null) {
+                        result = provider.create();
+                        detector = result;
+                    }
+                }
+            }
+            return result;
+        }
     }
 }
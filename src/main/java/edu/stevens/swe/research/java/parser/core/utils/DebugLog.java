@@ -0,0 +1,59 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+/**
+ * Debug output of the library, off unless the {@code parser.core.debug} system property or the
+ * {@code PARSER_CORE_DEBUG} environment variable is {@code true}.
+ * <p>
+ * Messages are templates whose {@code {}} placeholders are replaced by the arguments, so no string is built
+ * when debug output is off. {@link #ENABLED} is a constant, so the JIT drops disabled calls altogether;
+ * guard a call with it when computing an argument is itself expensive.
+ */
+public final class DebugLog {
+    public static final boolean ENABLED = Boolean.getBoolean("parser.core.debug")
+            || "true".equalsIgnoreCase(System.getenv("PARSER_CORE_DEBUG"));
+
+    private DebugLog() {
+    }
+
+    public static void debug(String message) {
+        if (ENABLED) {
+            print(message);
+        }
+    }
+
+    public static void debug(String template, Object arg) {
+        if (ENABLED) {
+            print(format(template, arg));
+        }
+    }
+
+    public static void debug(String template, Object arg1, Object arg2) {
+        if (ENABLED) {
+            print(format(template, arg1, arg2));
+        }
+    }
+
+    public static void debug(String template, Object... args) {
+        if (ENABLED) {
+            print(format(template, args));
+        }
+    }
+
+    static String format(String template, Object... args) {
+        StringBuilder message = new StringBuilder(template.length() + 16 * args.length);
+        int from = 0;
+        for (Object arg : args) {
+            int placeholder = template.indexOf("{}", from);
+            if (placeholder < 0) {
+                break;
+            }
+            message.append(template, from, placeholder).append(arg);
+            from = placeholder + 2;
+        }
+        return message.append(template, from, template.length()).toString();
+    }
+
+    private static void print(String message) {
+        System.out.println("DEBUG: " + message);
+    }
+}
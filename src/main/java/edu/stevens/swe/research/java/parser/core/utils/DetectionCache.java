@@ -0,0 +1,330 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import edu.stevens.swe.research.java.parser.core.core.ParserConfig;
+import edu.stevens.swe.research.java.parser.core.utils.exceptions.ProjectDetectionException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent cache of detected {@link ParserConfig}s, so an unchanged project is not detected again.
+ * <p>
+ * An entry is keyed by the build files of the project: every {@code pom.xml}, Gradle build and settings
+ * script, {@code gradle.properties}, {@code gradle-wrapper.properties} and version catalog below the project
+ * root, plus the parent POM next to it and the Maven settings files. Each build file is validated by size and
+ * modification time and, only when those differ, by a SHA-256 hash of its content, so touching a file does not
+ * invalidate the entry. Any changed, added or removed build file invalidates the entry; the modules it belongs
+ * to are reported. An entry is also discarded when a classpath entry of the cached config no longer exists,
+ * e.g. after the local repository was cleaned. Instances are thread-safe.
+ */
+public class DetectionCache {
+    private static final int MAGIC = 0x50434443; // "PCDC"
+    private static final int FORMAT_VERSION = 1;
+    private static final Set<String> BUILD_FILE_NAMES = Set.of("pom.xml", "gradle.properties", "gradle-wrapper.properties");
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of("src", "build", "target", "node_modules");
+
+    private final Path cacheDirectory;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private DetectionCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Opens the detection cache in the given directory, which may also hold other caches.
+     */
+    public static DetectionCache open(Path cacheDirectory) {
+        return new DetectionCache(cacheDirectory);
+    }
+
+    /**
+     * Returns the cached configuration of the project if its build files are unchanged, and otherwise
+     * detects it with {@link BuildToolDetectorFactory} and caches the result.
+     *
+     * @param projectRoot The root directory of the project.
+     * @return The configuration of the project.
+     * @throws ProjectDetectionException if detection fails.
+     */
+    public ParserConfig detect(Path projectRoot) throws ProjectDetectionException {
+        Path root = projectRoot.toAbsolutePath().normalize();
+        Map<String, BuildFile> current;
+        try {
+            current = scanBuildFiles(root);
+        } catch (IOException e) {
+            System.err.println("Error scanning build files of " + root + " - " + e.getMessage() + ", not caching detection");
+            return BuildToolDetectorFactory.detect(projectRoot);
+        }
+        Path cacheFile = cacheFileOf(root);
+        ParserConfig cached = lookup(cacheFile, root, current);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        // The factory may still remember the configuration of the old build files
+        BuildToolDetectorFactory.invalidate(projectRoot);
+        ParserConfig config = BuildToolDetectorFactory.detect(projectRoot);
+        store(cacheFile, root, current, config);
+        return config;
+    }
+
+    /**
+     * Drops the cached configuration of the project.
+     */
+    public void invalidate(Path projectRoot) {
+        try {
+            Files.deleteIfExists(cacheFileOf(projectRoot.toAbsolutePath().normalize()));
+        } catch (IOException e) {
+            System.err.println("Error invalidating detection cache of " + projectRoot + " - " + e.getMessage());
+        }
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+
+    private Path cacheFileOf(Path root) {
+        return cacheDirectory.resolve("detection-" + sha256Hex(root.toString().getBytes(StandardCharsets.UTF_8)).substring(0, 16) + ".cache");
+    }
+
+    /**
+     * Returns the cached config if the cache file describes the same build files, hashing only files whose
+     * size or modification time changed; {@code null} otherwise. Hashes computed here are kept in
+     * {@code current} so a following store does not compute them again.
+     */
+    private ParserConfig lookup(Path cacheFile, Path root, Map<String, BuildFile> current) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        Map<String, BuildFile> cachedFiles = new TreeMap<>();
+        ParserConfig config;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !root.toString().equals(in.readUTF())) {
+                return null;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                byte[] hash = new byte[in.readUnsignedByte()];
+                in.readFully(hash);
+                cachedFiles.put(path, new BuildFile(Paths.get(path), size, lastModified, hash));
+            }
+            config = ParserConfig.readFrom(in);
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable detection cache: " + cacheFile + " - " + e.getMessage());
+            return null;
+        }
+
+        Set<String> changed = new TreeSet<>(cachedFiles.keySet());
+        changed.addAll(current.keySet());
+        for (Map.Entry<String, BuildFile> entry : current.entrySet()) {
+            BuildFile cachedFile = cachedFiles.get(entry.getKey());
+            if (cachedFile != null && isUnchanged(entry.getValue(), cachedFile)) {
+                changed.remove(entry.getKey());
+            }
+        }
+        if (!changed.isEmpty()) {
+            DebugLog.debug("Detection cache of {} is outdated, changed modules: {}", root, modulesOf(root, changed));
+            return null;
+        }
+        for (String entry : config.getClasspathEntries()) {
+            if (!Files.exists(Paths.get(entry))) {
+                DebugLog.debug("Detection cache of {} is outdated, classpath entry is gone: {}", root, entry);
+                return null;
+            }
+        }
+        return config;
+    }
+
+    private boolean isUnchanged(BuildFile file, BuildFile cachedFile) {
+        if (file.size != cachedFile.size) {
+            return false;
+        }
+        if (file.lastModified == cachedFile.lastModified) {
+            file.hash = cachedFile.hash;
+            return true;
+        }
+        try {
+            return Arrays.equals(file.hash(), cachedFile.hash);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void store(Path cacheFile, Path root, Map<String, BuildFile> buildFiles, ParserConfig config) {
+        try {
+            Files.createDirectories(cacheDirectory);
+            Path tempFile = Files.createTempFile(cacheDirectory, cacheFile.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeUTF(root.toString());
+                    out.writeInt(buildFiles.size());
+                    for (Map.Entry<String, BuildFile> entry : buildFiles.entrySet()) {
+                        BuildFile file = entry.getValue();
+                        byte[] hash = file.hash();
+                        out.writeUTF(entry.getKey());
+                        out.writeLong(file.size);
+                        out.writeLong(file.lastModified);
+                        out.writeByte(hash.length);
+                        out.write(hash);
+                    }
+                    config.writeTo(out);
+                }
+                Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing detection cache: " + cacheFile + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finds the build files the detection of the project depends on, keyed by absolute path. Source, output
+     * and hidden directories are not entered.
+     */
+    private static Map<String, BuildFile> scanBuildFiles(Path root) throws IOException {
+        Map<String, BuildFile> buildFiles = new TreeMap<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (dir.equals(root)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                String name = dir.getFileName().toString();
+                return SKIPPED_DIRECTORIES.contains(name) || name.startsWith(".")
+                        ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && isBuildFile(file.getFileName().toString())) {
+                    buildFiles.put(file.toString(), new BuildFile(file, attrs.size(), attrs.lastModifiedTime().toMillis(), null));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+                if (exc instanceof NoSuchFileException) {
+                    return FileVisitResult.CONTINUE;
+                }
+                throw exc;
+            }
+        });
+
+        // Files outside the project that detection reads
+        List<Path> external = new ArrayList<>();
+        if (root.getParent() != null) {
+            external.add(root.getParent().resolve("pom.xml"));
+        }
+        external.add(Paths.get(System.getProperty("user.home"), ".m2", "settings.xml"));
+        String m2Home = System.getenv("M2_HOME");
+        if (m2Home != null) {
+            external.add(Paths.get(m2Home, "conf", "settings.xml"));
+        }
+        for (Path file : external) {
+            if (Files.isRegularFile(file)) {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                buildFiles.put(file.toString(), new BuildFile(file, attrs.size(), attrs.lastModifiedTime().toMillis(), null));
+            }
+        }
+        return buildFiles;
+    }
+
+    private static boolean isBuildFile(String name) {
+        return BUILD_FILE_NAMES.contains(name)
+                || name.endsWith(".gradle")
+                || name.endsWith(".gradle.kts")
+                || name.endsWith(".versions.toml");
+    }
+
+    /**
+     * Names the modules of the changed build files, as directories relative to the project root.
+     */
+    private static Set<String> modulesOf(Path root, Set<String> changedFiles) {
+        Set<String> modules = new TreeSet<>();
+        for (String changedFile : changedFiles) {
+            Path directory = Paths.get(changedFile).getParent();
+            if (directory == null || !directory.startsWith(root)) {
+                modules.add(changedFile);
+            } else {
+                String module = root.relativize(directory).toString();
+                modules.add(module.isEmpty() ? "." : module);
+            }
+        }
+        return modules;
+    }
+
+    private static String sha256Hex(byte[] bytes) {
+        return HexFormat.of().formatHex(newDigest().digest(bytes));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A build file's state; its content hash is computed only when needed.
+     */
+    private static final class BuildFile {
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+        private byte[] hash;
+
+        private BuildFile(Path path, long size, long lastModified, byte[] hash) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+
+        private byte[] hash() throws IOException {
+            if (hash == null) {
+                MessageDigest digest = newDigest();
+                try (InputStream in = Files.newInputStream(path)) {
+                    byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+                hash = digest.digest();
+            }
+            return hash;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package edu.stevens.swe.research.java.parser.core.utils;
 
 import edu.stevens.swe.research.java.parser.core.core.ParserConfig;
+import edu.stevens.swe.research.java.parser.core.metrics.DiscoveryEvent;
+import edu.stevens.swe.research.java.parser.core.metrics.GradleModelFetchEvent;
 import edu.stevens.swe.research.java.parser.core.utils.exceptions.ProjectDetectionException;
 import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.ProjectConnection;
@@ -73,7 +75,7 @@ public class GradleDetector extends AbstractBuildToolDetector {
         
         if (useToolingApi) {
             try {
-                System.out.println("DEBUG: Using Gradle Tooling API for version: " + gradleVersion);
+                DebugLog.debug("Using Gradle Tooling API for version: {}", gradleVersion);
                 addGradleToolingApiDetails(configBuilder, projectRoot, processedPaths);
             } catch (Exception e) {
                 System.err.println("DEBUG: Gradle Tooling API failed: " + e.getMessage());
@@ -81,7 +83,7 @@ public class GradleDetector extends AbstractBuildToolDetector {
                 useToolingApi = false;
             }
         } else {
-            System.out.println("DEBUG: Gradle version " + gradleVersion + " not compatible with Tooling API, using file system detection");
+            DebugLog.debug("Gradle version {} not compatible with Tooling API, using file system detection", gradleVersion);
         }
         
         // Always add file system based detection for better coverage (or as fallback)
@@ -102,7 +104,7 @@ public class GradleDetector extends AbstractBuildToolDetector {
         Path dependencyDefsFile = gradleScriptsDir.resolve("dependencyDefinitions.gradle");
         
         if (dependencyDefsFile.toFile().exists()) {
-            System.out.println("DEBUG: Found dependency definitions file: " + dependencyDefsFile);
+            DebugLog.debug("Found dependency definitions file: {}", dependencyDefsFile);
             parseDependencyDefinitionsFile(dependencyDefsFile, dependencies);
         }
         
@@ -138,32 +140,49 @@ public class GradleDetector extends AbstractBuildToolDetector {
                         String key = matcher.group(1);
                         String value = matcher.group(2);
                         dependencies.put(key, value);
-                        System.out.println("DEBUG: Parsed dependency: " + key + " = " + value);
+                        DebugLog.debug("Parsed dependency: {} = {}", key, value);
                     }
                 }
             }
             
-            System.out.println("DEBUG: Parsed " + dependencies.size() + " dependency definitions from project");
+            DebugLog.debug("Parsed {} dependency definitions from project", dependencies.size());
             
         } catch (IOException e) {
             System.err.println("DEBUG: Error parsing dependency definitions file: " + e.getMessage());
         }
     }
 
+    /**
+     * Fetches one Tooling API model, recording the fetch as a {@link GradleModelFetchEvent}.
+     */
+    private <T> T fetchModel(ProjectConnection connection, Class<T> modelType, Path projectRoot) {
+        GradleModelFetchEvent event = new GradleModelFetchEvent();
+        event.begin();
+        String outcome = DiscoveryEvent.FAILED;
+        try {
+            T model = connection.model(modelType).get();
+            outcome = DiscoveryEvent.SUCCESS;
+            return model;
+        } finally {
+            event.model = modelType.getSimpleName();
+            event.finish(projectRoot.toString(), outcome);
+        }
+    }
+
     private void addGradleToolingApiDetails(ParserConfig.Builder configBuilder, Path projectRoot, Set<String> processedPaths) {
         ProjectConnection connection = null;
         try {
-            System.out.println("DEBUG: Connecting to Gradle project using Tooling API...");
+            DebugLog.debug("Connecting to Gradle project using Tooling API...");
             connection = GradleConnector.newConnector()
                     .forProjectDirectory(projectRoot.toFile())
                     .connect();
 
             // Get IDEA project model for comprehensive module information
-            IdeaProject ideaProject = connection.model(IdeaProject.class).get();
-            System.out.println("DEBUG: Found " + ideaProject.getModules().size() + " Gradle modules via Tooling API");
+            IdeaProject ideaProject = fetchModel(connection, IdeaProject.class, projectRoot);
+            DebugLog.debug("Found {} Gradle modules via Tooling API", ideaProject.getModules().size());
 
             for (IdeaModule module : ideaProject.getModules()) {
-                System.out.println("DEBUG: Processing Tooling API module: " + module.getName());
+                DebugLog.debug("Processing Tooling API module: {}", module.getName());
                 
                 // Add module source directories
                 for (IdeaContentRoot contentRoot : module.getContentRoots()) {
@@ -172,37 +191,37 @@ public class GradleDetector extends AbstractBuildToolDetector {
                         if (dirFile.exists() && !processedPaths.contains(dirFile.getAbsolutePath())) {
                             configBuilder.sourcepath(dirFile.getAbsolutePath());
                             processedPaths.add(dirFile.getAbsolutePath());
-                            System.out.println("DEBUG: Added Tooling API source directory: " + dirFile.getAbsolutePath());
+                            DebugLog.debug("Added Tooling API source directory: {}", dirFile.getAbsolutePath());
                         }
                     }
                 }
 
                 // Add module dependencies (JARs)
-                System.out.println("DEBUG: Processing " + module.getDependencies().size() + " dependencies for module: " + module.getName());
+                DebugLog.debug("Processing {} dependencies for module: {}", module.getDependencies().size(), module.getName());
                 module.getDependencies().forEach(dependency -> {
                     if (dependency instanceof IdeaSingleEntryLibraryDependency) {
                         File file = ((IdeaSingleEntryLibraryDependency) dependency).getFile();
                         if (file != null && file.exists() && file.getName().endsWith(".jar") && !processedPaths.contains(file.getAbsolutePath())) {
                             configBuilder.classpath(file.getAbsolutePath());
                             processedPaths.add(file.getAbsolutePath());
-                            System.out.println("DEBUG: Added Tooling API dependency JAR: " + file.getAbsolutePath());
+                            DebugLog.debug("Added Tooling API dependency JAR: {}", file.getAbsolutePath());
                         } else if (file != null && !file.exists()) {
-                            System.out.println("DEBUG: Tooling API dependency JAR not found: " + file.getAbsolutePath());
+                            DebugLog.debug("Tooling API dependency JAR not found: {}", file.getAbsolutePath());
                         }
                     }
                 });
             }
 
             // Use EclipseProject model for additional classpath information
-            EclipseProject eclipseProject = connection.model(EclipseProject.class).get();
-            System.out.println("DEBUG: Processing Eclipse project model for additional classpath entries");
+            EclipseProject eclipseProject = fetchModel(connection, EclipseProject.class, projectRoot);
+            DebugLog.debug("Processing Eclipse project model for additional classpath entries");
             
             for (EclipseSourceDirectory eclipseSourceDir : eclipseProject.getSourceDirectories()) {
                 File dirFile = eclipseSourceDir.getDirectory();
                 if (dirFile.exists() && !processedPaths.contains(dirFile.getAbsolutePath())) {
                     configBuilder.sourcepath(dirFile.getAbsolutePath());
                     processedPaths.add(dirFile.getAbsolutePath());
-                    System.out.println("DEBUG: Added Eclipse source directory: " + dirFile.getAbsolutePath());
+                    DebugLog.debug("Added Eclipse source directory: {}", dirFile.getAbsolutePath());
                 }
             }
 
@@ -215,13 +234,13 @@ public class GradleDetector extends AbstractBuildToolDetector {
                     if (!processedPaths.contains(outputPath)) {
                         configBuilder.classpath(outputPath);
                         processedPaths.add(outputPath);
-                        System.out.println("DEBUG: Added Eclipse output directory: " + outputPath);
+                        DebugLog.debug("Added Eclipse output directory: {}", outputPath);
                     }
                 }
             }
 
             // Add classpath entries from Eclipse model
-            System.out.println("DEBUG: Processing " + eclipseProject.getClasspath().size() + " Eclipse classpath entries");
+            DebugLog.debug("Processing {} Eclipse classpath entries", eclipseProject.getClasspath().size());
             for (EclipseClasspathEntry cpEntry : eclipseProject.getClasspath()) {
                 if (cpEntry instanceof EclipseExternalDependency) {
                     EclipseExternalDependency externalDep = (EclipseExternalDependency) cpEntry;
@@ -229,13 +248,13 @@ public class GradleDetector extends AbstractBuildToolDetector {
                     if (file != null && file.exists() && file.getName().endsWith(".jar") && !processedPaths.contains(file.getAbsolutePath())) {
                         configBuilder.classpath(file.getAbsolutePath());
                         processedPaths.add(file.getAbsolutePath());
-                        System.out.println("DEBUG: Added Eclipse external dependency: " + file.getAbsolutePath());
+                        DebugLog.debug("Added Eclipse external dependency: {}", file.getAbsolutePath());
                     } else if (file != null && !file.exists()) {
-                        System.out.println("DEBUG: Eclipse external dependency not found: " + file.getAbsolutePath());
+                        DebugLog.debug("Eclipse external dependency not found: {}", file.getAbsolutePath());
                     }
                 } else if (cpEntry instanceof EclipseProjectDependency) {
                     EclipseProjectDependency projectDep = (EclipseProjectDependency) cpEntry;
-                    System.out.println("DEBUG: Found Eclipse project dependency: " + projectDep.getPath());
+                    DebugLog.debug("Found Eclipse project dependency: {}", projectDep.getPath());
                     // TODO: Add project dependency handling if needed
                 }
             }
@@ -254,18 +273,18 @@ public class GradleDetector extends AbstractBuildToolDetector {
      * Enhanced file system based detection for multi-module Gradle projects
      */
     private void addFileSystemBasedGradleDetails(ParserConfig.Builder configBuilder, Path projectRoot, Set<String> processedPaths) {
-        System.out.println("DEBUG: Starting file system based Gradle project detection...");
+        DebugLog.debug("Starting file system based Gradle project detection...");
         
         // Discover all modules by finding build.gradle files
         Set<Path> allModules = discoverGradleModules(projectRoot);
-        System.out.println("DEBUG: Discovered " + allModules.size() + " Gradle modules via file system");
+        DebugLog.debug("Discovered {} Gradle modules via file system", allModules.size());
         
         for (Path moduleRoot : allModules) {
             String moduleName = projectRoot.relativize(moduleRoot).toString();
             if (moduleName.isEmpty()) {
                 moduleName = "root";
             }
-            System.out.println("DEBUG: Processing file system module: " + moduleName + " at " + moduleRoot);
+            DebugLog.debug("Processing file system module: {} at {}", moduleName, moduleRoot);
             
             // Add source directories for this module
             addModuleSourceDirectories(configBuilder, moduleRoot, moduleName, processedPaths);
@@ -286,7 +305,7 @@ public class GradleDetector extends AbstractBuildToolDetector {
                  .map(Path::getParent)
                  .forEach(moduleRoot -> {
                      modules.add(moduleRoot);
-                     System.out.println("DEBUG: Found Gradle module at: " + moduleRoot);
+                     DebugLog.debug("Found Gradle module at: {}", moduleRoot);
                  });
         } catch (IOException e) {
             System.err.println("DEBUG: Error discovering Gradle modules: " + e.getMessage());
@@ -316,10 +335,10 @@ public class GradleDetector extends AbstractBuildToolDetector {
             if (sourceDir.toFile().exists() && !processedPaths.contains(sourceDir.toString())) {
                 if (dirParts[dirParts.length - 1].equals("java")) {
                     configBuilder.sourcepath(sourceDir.toString());
-                    System.out.println("DEBUG: Added module " + moduleName + " source directory: " + sourceDir);
+                    DebugLog.debug("Added module {} source directory: {}", moduleName, sourceDir);
                 } else {
                     configBuilder.classpath(sourceDir.toString());
-                    System.out.println("DEBUG: Added module " + moduleName + " resource directory: " + sourceDir);
+                    DebugLog.debug("Added module {} resource directory: {}", moduleName, sourceDir);
                 }
                 processedPaths.add(sourceDir.toString());
             }
@@ -349,7 +368,7 @@ public class GradleDetector extends AbstractBuildToolDetector {
             if (buildDir.toFile().exists() && !processedPaths.contains(buildDir.toString())) {
                 configBuilder.classpath(buildDir.toString());
                 processedPaths.add(buildDir.toString());
-                System.out.println("DEBUG: Added module " + moduleName + " build directory: " + buildDir);
+                DebugLog.debug("Added module {} build directory: {}", moduleName, buildDir);
             }
         }
         
@@ -362,7 +381,7 @@ public class GradleDetector extends AbstractBuildToolDetector {
                             if (!processedPaths.contains(jarPath.toString())) {
                                 configBuilder.classpath(jarPath.toString());
                                 processedPaths.add(jarPath.toString());
-                                System.out.println("DEBUG: Added module " + moduleName + " JAR: " + jarPath);
+                                DebugLog.debug("Added module {} JAR: {}", moduleName, jarPath);
                             }
                         });
             } catch (IOException e) {
@@ -376,7 +395,7 @@ public class GradleDetector extends AbstractBuildToolDetector {
      */
     private void addEnhancedTestDependencies(ParserConfig.Builder configBuilder, Path projectRoot, 
                                            Map<String, String> projectDependencies, Set<String> processedPaths) {
-        System.out.println("DEBUG: Starting enhanced test dependency resolution...");
+        DebugLog.debug("Starting enhanced test dependency resolution...");
         
         // Priority order for cache locations:
         // 1. Project local gradle cache
@@ -406,7 +425,7 @@ public class GradleDetector extends AbstractBuildToolDetector {
             String artifactId = dep[1];
             String fullDependency = dep[2];
             
-            System.out.println("DEBUG: Resolving test dependency: " + groupId + ":" + artifactId + " from " + fullDependency);
+            DebugLog.debug("Resolving test dependency: {}:{} from {}", groupId, artifactId, fullDependency);
             
             // Extract version from full dependency string
             String[] parts = fullDependency.split(":");
@@ -421,7 +440,7 @@ public class GradleDetector extends AbstractBuildToolDetector {
             }
             
             if (!found) {
-                System.out.println("DEBUG: Could not find " + groupId + ":" + artifactId + " in any cache location");
+                DebugLog.debug("Could not find {}:{} in any cache location", groupId, artifactId);
             }
         }
     }
@@ -454,7 +473,7 @@ public class GradleDetector extends AbstractBuildToolDetector {
                         if (jarFile.exists() && !processedPaths.contains(jarFile.getAbsolutePath())) {
                             configBuilder.classpath(jarFile.getAbsolutePath());
                             processedPaths.add(jarFile.getAbsolutePath());
-                            System.out.println("DEBUG: Added specific version dependency: " + jarFile.getAbsolutePath());
+                            DebugLog.debug("Added specific version dependency: {}", jarFile.getAbsolutePath());
                             return true;
                         }
                     }
@@ -481,7 +500,7 @@ public class GradleDetector extends AbstractBuildToolDetector {
                     if (jarFile.exists() && !processedPaths.contains(jarFile.getAbsolutePath())) {
                         configBuilder.classpath(jarFile.getAbsolutePath());
                         processedPaths.add(jarFile.getAbsolutePath());
-                        System.out.println("DEBUG: Added fallback version dependency: " + jarFile.getAbsolutePath());
+                        DebugLog.debug("Added fallback version dependency: {}", jarFile.getAbsolutePath());
                         return true;
                     }
                 }
@@ -521,7 +540,7 @@ public class GradleDetector extends AbstractBuildToolDetector {
                         Matcher matcher = pattern.matcher(line);
                         if (matcher.find()) {
                             String version = matcher.group(1);
-                            System.out.println("DEBUG: Detected Gradle version from wrapper: " + version);
+                            DebugLog.debug("Detected Gradle version from wrapper: {}", version);
                             return version;
                         }
                     }
@@ -532,7 +551,7 @@ public class GradleDetector extends AbstractBuildToolDetector {
         }
         
         // Fallback: assume newer version if wrapper not found
-        System.out.println("DEBUG: Could not detect Gradle version, assuming compatible");
+        DebugLog.debug("Could not detect Gradle version, assuming compatible");
         return "7.0"; // Default to a reasonably modern version
     }
     
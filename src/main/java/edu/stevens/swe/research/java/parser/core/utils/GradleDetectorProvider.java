@@ -0,0 +1,31 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Provides the {@link GradleDetector} for projects with a {@code build.gradle} or {@code settings.gradle}.
+ * The probe does not touch the detector, so projects of other build tools never load the Gradle Tooling API.
+ */
+public class GradleDetectorProvider implements ProjectDetectorProvider {
+
+    @Override
+    public String name() {
+        return "GradleDetector";
+    }
+
+    @Override
+    public boolean supports(Path projectRoot) {
+        return Files.exists(projectRoot.resolve("build.gradle")) || Files.exists(projectRoot.resolve("settings.gradle"));
+    }
+
+    @Override
+    public ProjectDetector create() {
+        return new GradleDetector();
+    }
+
+    @Override
+    public int order() {
+        return 200;
+    }
+}
@@ -0,0 +1,364 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Index of the artifacts of a local Maven repository, so dependency lookups are answered from memory
+ * instead of with file system calls, which are slow on network home directories.
+ * <p>
+ * The index holds, per artifact, the modification time of its directory and of each version directory, and
+ * whether a version directory holds the jar and the POM. An artifact is checked on its first lookup and again
+ * once it is older than {@code -Dparser.core.indexRefreshSeconds} (default 300): the check reads the
+ * modification times of its directories and lists only those that changed. Every other lookup, positive or
+ * negative, is answered from memory, so an artifact installed since its last check may be missed until then.
+ * The rest of the repository is never walked.
+ * <p>
+ * The index can be kept in a file, so the next process does not list unchanged directories again; artifacts
+ * read from a file count as checked when the file was written. {@link #forRepository(Path)} only keeps a file
+ * if {@code -Dparser.core.indexDirectory} names its directory, otherwise its index lives in memory only.
+ * Instances are thread-safe.
+ */
+public class LocalRepositoryIndex {
+    private static final int MAGIC = 0x50435249; // "PCRI"
+    private static final int FORMAT_VERSION = 2;
+    private static final byte JAR = 1;
+    private static final byte POM = 2;
+    private static final long MISSING = Long.MIN_VALUE;
+    private static final long REFRESH_INTERVAL_MILLIS =
+            Long.getLong("parser.core.indexRefreshSeconds", 300) * 1000;
+    private static final ConcurrentMap<Path, LocalRepositoryIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final Path repository;
+    private final Path indexFile;
+    private final ConcurrentMap<String, Artifact> artifacts;
+    private volatile boolean changed;
+
+    private LocalRepositoryIndex(Path repository, Path indexFile, Map<String, Artifact> artifacts) {
+        this.repository = repository;
+        this.indexFile = indexFile;
+        this.artifacts = new ConcurrentHashMap<>(artifacts);
+    }
+
+    /**
+     * Returns the index of the given repository shared by the process. It is kept in
+     * {@code -Dparser.core.indexDirectory} if that is set, and in memory only otherwise.
+     */
+    public static LocalRepositoryIndex forRepository(Path repository) {
+        Path root = repository.toAbsolutePath().normalize();
+        return INDEXES.computeIfAbsent(root, r -> open(r, defaultIndexFile(r)));
+    }
+
+    /**
+     * Opens the index of a repository kept in the given file. The index is as of the last time the file was
+     * written, or empty if the file is missing, unreadable or belongs to another repository.
+     *
+     * @param indexFile The file holding the index, or null to keep the index in memory only.
+     */
+    public static LocalRepositoryIndex open(Path repository, Path indexFile) {
+        Path root = repository.toAbsolutePath().normalize();
+        Map<String, Artifact> artifacts = Collections.emptyMap();
+        if (indexFile != null && Files.isRegularFile(indexFile)) {
+            try {
+                artifacts = read(indexFile, root);
+            } catch (IOException e) {
+                System.err.println("Ignoring unreadable repository index: " + indexFile + " - " + e.getMessage());
+            }
+        }
+        return new LocalRepositoryIndex(root, indexFile, artifacts);
+    }
+
+    private static Path defaultIndexFile(Path repository) {
+        String directory = System.getProperty("parser.core.indexDirectory");
+        if (directory == null) {
+            return null;
+        }
+        return Paths.get(directory).resolve("repository-" + sha256Hex(repository.toString()).substring(0, 16) + ".index");
+    }
+
+    /**
+     * Checks every artifact of the index again, whatever its age, listing only the directories that changed,
+     * and saves the index.
+     */
+    public void refresh() {
+        long start = System.nanoTime();
+        for (Map.Entry<String, Artifact> entry : artifacts.entrySet()) {
+            artifacts.put(entry.getKey(), check(entry.getKey(), entry.getValue()));
+        }
+        DebugLog.debug("Refreshed index of local repository {}: {} artifacts in {} ms", repository,
+                artifacts.size(), (System.nanoTime() - start) / 1_000_000);
+        save();
+    }
+
+    /**
+     * Writes the index to its file if it has one and changed since it was read or last written. Failures
+     * are reported and otherwise ignored, as the file is only an optimisation.
+     */
+    public void save() {
+        if (indexFile == null || !changed) {
+            return;
+        }
+        changed = false;
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Path tempFile = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+            try {
+                write(tempFile);
+                Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing repository index: " + indexFile + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Whether the repository holds the jar of the given artifact version.
+     */
+    public boolean hasJar(String groupId, String artifactId, String version) {
+        return hasFlag(artifact(groupId, artifactId), version, JAR);
+    }
+
+    /**
+     * Whether the repository holds the POM of the given artifact version.
+     */
+    public boolean hasPom(String groupId, String artifactId, String version) {
+        return hasFlag(artifact(groupId, artifactId), version, POM);
+    }
+
+    /**
+     * Whether the repository has a directory for the given artifact.
+     */
+    public boolean containsArtifact(String groupId, String artifactId) {
+        return artifact(groupId, artifactId).lastModified != MISSING;
+    }
+
+    /**
+     * Returns the versions of the given artifact whose jar the repository holds, in no particular order.
+     */
+    public List<String> getJarVersions(String groupId, String artifactId) {
+        List<String> versions = new ArrayList<>();
+        for (Map.Entry<String, Version> entry : artifact(groupId, artifactId).versions.entrySet()) {
+            if ((entry.getValue().flags & JAR) != 0) {
+                versions.add(entry.getKey());
+            }
+        }
+        return versions;
+    }
+
+    public Path getRepository() { return repository; }
+    public Path getIndexFile() { return indexFile; }
+
+    private static boolean hasFlag(Artifact artifact, String version, byte flag) {
+        Version known = artifact.versions.get(version);
+        return known != null && (known.flags & flag) != 0;
+    }
+
+    /**
+     * Returns the artifact from the index, checking it first if it is not indexed yet or its check is older
+     * than the refresh interval. Two threads may check the same artifact at once; both results are current.
+     */
+    private Artifact artifact(String groupId, String artifactId) {
+        String path = groupId.replace('.', '/') + "/" + artifactId;
+        Artifact artifact = artifacts.get(path);
+        if (artifact == null || System.currentTimeMillis() - artifact.checkedAt > REFRESH_INTERVAL_MILLIS) {
+            artifact = check(path, artifact);
+            artifacts.put(path, artifact);
+        }
+        return artifact;
+    }
+
+    /**
+     * Reads the modification times of the directory of an artifact and of its version directories, and
+     * lists those that changed since the known state of the artifact.
+     */
+    private Artifact check(String path, Artifact known) {
+        long checkedAt = System.currentTimeMillis();
+        Path directory = repository.resolve(path);
+        String artifactId = directory.getFileName().toString();
+        Map<String, Long> versionDirectories = new HashMap<>();
+        long lastModified;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(directory, BasicFileAttributes.class);
+            lastModified = attributes.isDirectory() ? attributes.lastModifiedTime().toMillis() : MISSING;
+            if (lastModified != MISSING && known != null && known.lastModified == lastModified) {
+                for (String version : known.versions.keySet()) {
+                    BasicFileAttributes versionAttributes = readAttributes(directory.resolve(version));
+                    if (versionAttributes != null && versionAttributes.isDirectory()) {
+                        versionDirectories.put(version, versionAttributes.lastModifiedTime().toMillis());
+                    }
+                }
+            } else if (lastModified != MISSING) {
+                changed = true;
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                    for (Path entry : entries) {
+                        BasicFileAttributes versionAttributes = readAttributes(entry);
+                        if (versionAttributes != null && versionAttributes.isDirectory()) {
+                            versionDirectories.put(entry.getFileName().toString(), versionAttributes.lastModifiedTime().toMillis());
+                        }
+                    }
+                }
+            }
+        } catch (NoSuchFileException e) {
+            lastModified = MISSING;
+        } catch (IOException e) {
+            System.err.println("Error indexing artifact: " + directory + " - " + e.getMessage());
+            lastModified = MISSING;
+        }
+        if (lastModified == MISSING) {
+            return new Artifact(checkedAt, MISSING, Collections.emptyMap());
+        }
+
+        Map<String, Version> versions = new HashMap<>();
+        for (Map.Entry<String, Long> entry : versionDirectories.entrySet()) {
+            String version = entry.getKey();
+            Version knownVersion = known == null ? null : known.versions.get(version);
+            if (knownVersion != null && knownVersion.lastModified == entry.getValue()) {
+                versions.put(version, knownVersion);
+                continue;
+            }
+            changed = true;
+            byte flags = 0;
+            String artifactFile = artifactId + "-" + version;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory.resolve(version))) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    if (name.equals(artifactFile + ".jar")) {
+                        flags |= JAR;
+                    } else if (name.equals(artifactFile + ".pom")) {
+                        flags |= POM;
+                    }
+                }
+            } catch (IOException e) {
+                // Deleted since it was listed, or unreadable: it holds nothing usable
+                continue;
+            }
+            versions.put(version, new Version(entry.getValue(), flags));
+        }
+        if (known != null && known.versions.size() != versions.size()) {
+            changed = true;
+        }
+        return new Artifact(checkedAt, lastModified, versions);
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads an index file: a header, then each artifact with its path and modification time, followed by
+     * its versions, each with its name, modification time and flags.
+     */
+    private static Map<String, Artifact> read(Path indexFile, Path repository) throws IOException {
+        long writtenAt = Files.getLastModifiedTime(indexFile).toMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !repository.toString().equals(in.readUTF())) {
+                return Collections.emptyMap();
+            }
+            int artifactCount = in.readInt();
+            Map<String, Artifact> artifacts = new HashMap<>(artifactCount * 2);
+            for (int i = 0; i < artifactCount; i++) {
+                String path = in.readUTF();
+                long lastModified = in.readLong();
+                int versionCount = in.readInt();
+                Map<String, Version> versions = new HashMap<>(versionCount * 2);
+                for (int j = 0; j < versionCount; j++) {
+                    String version = in.readUTF();
+                    versions.put(version, new Version(in.readLong(), in.readByte()));
+                }
+                artifacts.put(path, new Artifact(writtenAt, lastModified, versions));
+            }
+            return artifacts;
+        }
+    }
+
+    private void write(Path file) throws IOException {
+        List<Map.Entry<String, Artifact>> present = new ArrayList<>();
+        for (Map.Entry<String, Artifact> entry : artifacts.entrySet()) {
+            // Missing artifacts are cheap to check again and would only grow the file
+            if (entry.getValue().lastModified != MISSING) {
+                present.add(entry);
+            }
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(repository.toString());
+            out.writeInt(present.size());
+            for (Map.Entry<String, Artifact> entry : present) {
+                Artifact artifact = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeLong(artifact.lastModified);
+                out.writeInt(artifact.versions.size());
+                for (Map.Entry<String, Version> version : artifact.versions.entrySet()) {
+                    out.writeUTF(version.getKey());
+                    out.writeLong(version.getValue().lastModified);
+                    out.writeByte(version.getValue().flags);
+                }
+            }
+        }
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * An indexed artifact as of its last check; {@code lastModified} is {@link #MISSING} if the repository
+     * has no directory for it.
+     */
+    private static final class Artifact {
+        private final long checkedAt;
+        private final long lastModified;
+        private final Map<String, Version> versions;
+
+        private Artifact(long checkedAt, long lastModified, Map<String, Version> versions) {
+            this.checkedAt = checkedAt;
+            this.lastModified = lastModified;
+            this.versions = versions;
+        }
+    }
+
+    /**
+     * An indexed version directory of an artifact.
+     */
+    private static final class Version {
+        private final long lastModified;
+        private final byte flags;
+
+        private Version(long lastModified, byte flags) {
+            this.lastModified = lastModified;
+            this.flags = flags;
+        }
+    }
+}
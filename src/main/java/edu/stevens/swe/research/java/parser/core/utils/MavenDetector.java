@@ -1,19 +1,14 @@
 package edu.stevens.swe.research.java.parser.core.utils;
 
 import edu.stevens.swe.research.java.parser.core.core.ParserConfig;
+import edu.stevens.swe.research.java.parser.core.metrics.DiscoveryEvent;
+import edu.stevens.swe.research.java.parser.core.metrics.PomParseEvent;
 import edu.stevens.swe.research.java.parser.core.utils.exceptions.ProjectDetectionException;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public class MavenDetector extends AbstractBuildToolDetector {
@@ -34,7 +29,7 @@ public class MavenDetector extends AbstractBuildToolDetector {
 
         try {
             Path pomPath = projectRoot.resolve(POM_FILE);
-            Document pomDoc = parseXmlFile(pomPath.toFile());
+            PomModel pom = readPom(pomPath);
             
             // Start building the configuration
             ParserConfig.Builder configBuilder = createBaseConfig();
@@ -43,10 +38,10 @@ public class MavenDetector extends AbstractBuildToolDetector {
             addCurrentProjectPaths(configBuilder, projectRoot);
             
             // Add multi-module project paths
-            addMultiModulePaths(configBuilder, projectRoot, pomDoc);
+            addMultiModulePaths(configBuilder, projectRoot, pom);
 
             // Add dependencies from Maven local repository
-            addMavenDependencies(configBuilder, pomDoc);
+            addMavenDependencies(configBuilder, pom);
 
             // Add JDK libs
             addJdkLibraries(configBuilder);
@@ -57,10 +52,10 @@ public class MavenDetector extends AbstractBuildToolDetector {
         }
     }
 
-    private void addMavenDependencies(ParserConfig.Builder configBuilder, Document pomDoc) {
+    private void addMavenDependencies(ParserConfig.Builder configBuilder, PomModel pom) {
         // Get the local repository path
         Path localRepo = getMavenLocalRepository();
-        System.out.println("DEBUG: Using local Maven repository: " + localRepo); // Log local repo path
+        DebugLog.debug("Using local Maven repository: {}", localRepo);
 
         // Enhanced version collection strategy
         Map<String, String> explicitVersions = new HashMap<>();
@@ -68,109 +63,77 @@ public class MavenDetector extends AbstractBuildToolDetector {
         Map<String, String> inheritedVersions = new HashMap<>();
         
         // Collect versions from current POM
-        collectVersionsFromCurrentPom(pomDoc, explicitVersions);
+        collectVersionsFromCurrentPom(pom, explicitVersions);
         
         // Parse dependencyManagement section from current POM
-        collectManagedVersions(pomDoc, managedVersions);
+        collectManagedVersions(pom, managedVersions);
         
         // Parse parent POM chain for inherited versions
-        collectInheritedVersions(pomDoc, localRepo, inheritedVersions, managedVersions);
+        collectInheritedVersions(pom, localRepo, inheritedVersions, managedVersions);
         
         // Scan multi-module project for additional version patterns
-        collectMultiModuleVersions(pomDoc, localRepo, explicitVersions, managedVersions);
+        collectMultiModuleVersions(pom, localRepo, explicitVersions, managedVersions);
 
         // Process regular dependencies
-        processRegularDependencies(configBuilder, pomDoc, localRepo, explicitVersions);
+        processRegularDependencies(configBuilder, pom, localRepo, explicitVersions);
 
         // Add common test dependencies with comprehensive version selection
-        System.out.println("DEBUG: Adding common test dependencies with comprehensive version selection...");
+        DebugLog.debug("Adding common test dependencies with comprehensive version selection...");
         addCommonTestDependenciesAdvanced(configBuilder, localRepo, explicitVersions, managedVersions, inheritedVersions);
+
+        // Keep what was learnt about the repository for the next process, if an index directory is configured
+        LocalRepositoryIndex.forRepository(localRepo).save();
     }
     
     /**
      * Collects explicit dependency versions from the current POM
      */
-    private void collectVersionsFromCurrentPom(Document pomDoc, Map<String, String> explicitVersions) {
-        NodeList dependencies = pomDoc.getElementsByTagName("dependency");
-        System.out.println("DEBUG: Found " + dependencies.getLength() + " <dependency> tags in current pom.xml");
-        
-        for (int i = 0; i < dependencies.getLength(); i++) {
-            Element dep = (Element) dependencies.item(i);
-            String groupId = getElementContent(dep, "groupId");
-            String artifactId = getElementContent(dep, "artifactId");
-            String version = getElementContent(dep, "version");
-            
-            if (groupId != null && artifactId != null && version != null) {
-                String key = groupId + ":" + artifactId;
-                String resolvedVersion = resolveVersionProperties(version, pomDoc);
-                explicitVersions.put(key, resolvedVersion);
-                System.out.println("DEBUG: Collected explicit version: " + key + " = " + resolvedVersion);
-            }
+    private void collectVersionsFromCurrentPom(PomModel pom, Map<String, String> explicitVersions) {
+        DebugLog.debug("Found {} <dependency> tags in {}", pom.getDependencies().size(), pom.getArtifactId());
+        for (Map.Entry<String, String> version : pom.getDependencyVersions().entrySet()) {
+            explicitVersions.put(version.getKey(), version.getValue());
+            DebugLog.debug("Collected explicit version: {} = {}", version.getKey(), version.getValue());
         }
     }
     
     /**
      * Collects managed dependency versions from dependencyManagement section
      */
-    private void collectManagedVersions(Document pomDoc, Map<String, String> managedVersions) {
-        NodeList dependencyManagementList = pomDoc.getElementsByTagName("dependencyManagement");
-        if (dependencyManagementList.getLength() > 0) {
-            Element dependencyManagement = (Element) dependencyManagementList.item(0);
-            NodeList managedDependencies = dependencyManagement.getElementsByTagName("dependency");
-            
-            System.out.println("DEBUG: Found " + managedDependencies.getLength() + " managed dependencies in current POM");
-            
-            for (int i = 0; i < managedDependencies.getLength(); i++) {
-                Element dep = (Element) managedDependencies.item(i);
-                String groupId = getElementContent(dep, "groupId");
-                String artifactId = getElementContent(dep, "artifactId");
-                String version = getElementContent(dep, "version");
-                
-                if (groupId != null && artifactId != null && version != null) {
-                    String key = groupId + ":" + artifactId;
-                    String resolvedVersion = resolveVersionProperties(version, pomDoc);
-                    managedVersions.put(key, resolvedVersion);
-                    System.out.println("DEBUG: Collected managed version: " + key + " = " + resolvedVersion);
-                }
-            }
+    private void collectManagedVersions(PomModel pom, Map<String, String> managedVersions) {
+        DebugLog.debug("Found {} managed dependencies in {}", pom.getManagedDependencies().size(), pom.getArtifactId());
+        for (Map.Entry<String, String> version : pom.getManagedVersions().entrySet()) {
+            managedVersions.put(version.getKey(), version.getValue());
+            DebugLog.debug("Collected managed version: {} = {}", version.getKey(), version.getValue());
         }
     }
     
     /**
      * Recursively collects versions from parent POM chain
      */
-    private void collectInheritedVersions(Document pomDoc, Path localRepo, 
-                                        Map<String, String> inheritedVersions, 
+    private void collectInheritedVersions(PomModel pom, Path localRepo,
+                                        Map<String, String> inheritedVersions,
                                         Map<String, String> inheritedManagedVersions) {
-        NodeList parentList = pomDoc.getElementsByTagName("parent");
-        if (parentList.getLength() > 0) {
-            Element parent = (Element) parentList.item(0);
-            String parentGroupId = getElementContent(parent, "groupId");
-            String parentArtifactId = getElementContent(parent, "artifactId");
-            String parentVersion = getElementContent(parent, "version");
-            
-            if (parentGroupId != null && parentArtifactId != null && parentVersion != null) {
-                System.out.println("DEBUG: Found parent POM: " + parentGroupId + ":" + parentArtifactId + ":" + parentVersion);
-                
-                // Try to load parent POM
-                Path parentPomPath = findParentPom(parentGroupId, parentArtifactId, parentVersion, localRepo);
-                if (parentPomPath != null) {
-                    try {
-                        Document parentDoc = parseXmlFile(parentPomPath.toFile());
-                        
-                        // Collect versions from parent
-                        collectVersionsFromCurrentPom(parentDoc, inheritedVersions);
-                        collectManagedVersions(parentDoc, inheritedManagedVersions);
-                        
-                        // Recursively process parent's parent
-                        collectInheritedVersions(parentDoc, localRepo, inheritedVersions, inheritedManagedVersions);
-                        
-                    } catch (Exception e) {
-                        System.out.println("DEBUG: Error parsing parent POM: " + e.getMessage());
-                    }
-                } else {
-                    System.out.println("DEBUG: Parent POM not found in local repository");
+        if (pom.hasParent()) {
+            DebugLog.debug("Found parent POM: {}:{}:{}", pom.getParentGroupId(), pom.getParentArtifactId(), pom.getParentVersion());
+
+            // Try to load parent POM
+            Path parentPomPath = findParentPom(pom.getParentGroupId(), pom.getParentArtifactId(), pom.getParentVersion(), localRepo);
+            if (parentPomPath != null) {
+                try {
+                    PomModel parent = readPom(parentPomPath);
+
+                    // Collect versions from parent
+                    collectVersionsFromCurrentPom(parent, inheritedVersions);
+                    collectManagedVersions(parent, inheritedManagedVersions);
+
+                    // Recursively process parent's parent
+                    collectInheritedVersions(parent, localRepo, inheritedVersions, inheritedManagedVersions);
+
+                } catch (Exception e) {
+                    DebugLog.debug("Error parsing parent POM: {}", e.getMessage());
                 }
+            } else {
+                DebugLog.debug("Parent POM not found in local repository");
             }
         }
     }
@@ -178,70 +141,30 @@ public class MavenDetector extends AbstractBuildToolDetector {
     /**
      * Scans multi-module project for additional version patterns
      */
-    private void collectMultiModuleVersions(Document pomDoc, Path localRepo,
+    private void collectMultiModuleVersions(PomModel pom, Path localRepo,
                                           Map<String, String> explicitVersions,
                                           Map<String, String> managedVersions) {
-        NodeList modulesList = pomDoc.getElementsByTagName("modules");
-        if (modulesList.getLength() > 0) {
-            Element modules = (Element) modulesList.item(0);
-            NodeList moduleNodes = modules.getElementsByTagName("module");
+        if (!pom.getModules().isEmpty()) {
+            DebugLog.debug("Found {} modules in multi-module project", pom.getModules().size());
             
-            System.out.println("DEBUG: Found " + moduleNodes.getLength() + " modules in multi-module project");
-            
-            for (int i = 0; i < moduleNodes.getLength(); i++) {
-                String moduleName = moduleNodes.item(i).getTextContent().trim();
+            for (String moduleName : pom.getModules()) {
                 Path modulePomPath = Paths.get(".").resolve(moduleName).resolve("pom.xml");
                 
-                System.out.println("DEBUG: Scanning module: " + moduleName + " at " + modulePomPath);
+                DebugLog.debug("Scanning module: {} at {}", moduleName, modulePomPath);
                 
                 if (modulePomPath.toFile().exists()) {
                     try {
-                        Document moduleDoc = parseXmlFile(modulePomPath.toFile());
-                        collectVersionsFromCurrentPom(moduleDoc, explicitVersions);
-                        collectManagedVersions(moduleDoc, managedVersions);
+                        PomModel modulePom = readPom(modulePomPath);
+                        collectVersionsFromCurrentPom(modulePom, explicitVersions);
+                        collectManagedVersions(modulePom, managedVersions);
                     } catch (Exception e) {
-                        System.out.println("DEBUG: Error parsing module POM " + moduleName + ": " + e.getMessage());
+                        DebugLog.debug("Error parsing module POM {}: {}", moduleName, e.getMessage());
                     }
                 }
             }
         }
     }
     
-    /**
-     * Enhanced version resolution with property support
-     */
-    private String resolveVersionProperties(String version, Document pomDoc) {
-        if (version == null || !version.startsWith("${") || !version.endsWith("}")) {
-            return version;
-        }
-        
-        String propertyName = version.substring(2, version.length() - 1);
-        
-        // Try to resolve from properties section
-        NodeList propertiesList = pomDoc.getElementsByTagName("properties");
-        if (propertiesList.getLength() > 0) {
-            Element propertiesElement = (Element) propertiesList.item(0);
-            String resolvedVersion = getElementContent(propertiesElement, propertyName);
-            if (resolvedVersion != null) {
-                System.out.println("DEBUG: Resolved property '" + propertyName + "' to '" + resolvedVersion + "'");
-                return resolvedVersion;
-            }
-        }
-        
-        // Handle project.version
-        if ("project.version".equals(propertyName)) {
-            Element projectElement = pomDoc.getDocumentElement();
-            String projectVersion = getElementContent(projectElement, "version");
-            if (projectVersion != null) {
-                System.out.println("DEBUG: Resolved project.version to '" + projectVersion + "'");
-                return projectVersion;
-            }
-        }
-        
-        System.out.println("DEBUG: Could not resolve property '" + propertyName + "', keeping original: " + version);
-        return version;
-    }
-    
     /**
      * Finds parent POM in local Maven repository
      */
@@ -252,52 +175,50 @@ public class MavenDetector extends AbstractBuildToolDetector {
                 .resolve(version)
                 .resolve(artifactId + "-" + version + ".pom");
         
-        if (parentPomPath.toFile().exists()) {
-            System.out.println("DEBUG: Found parent POM at: " + parentPomPath);
+        if (LocalRepositoryIndex.forRepository(localRepo).hasPom(groupId, artifactId, version)) {
+            DebugLog.debug("Found parent POM at: {}", parentPomPath);
             return parentPomPath;
         }
         
-        System.out.println("DEBUG: Parent POM not found at: " + parentPomPath);
+        DebugLog.debug("Parent POM not found at: {}", parentPomPath);
         return null;
     }
     
     /**
      * Processes regular dependencies from POM
      */
-    private void processRegularDependencies(ParserConfig.Builder configBuilder, Document pomDoc, 
+    private void processRegularDependencies(ParserConfig.Builder configBuilder, PomModel pom, 
                                           Path localRepo, Map<String, String> explicitVersions) {
-        NodeList dependencies = pomDoc.getElementsByTagName("dependency");
-        
-        for (int i = 0; i < dependencies.getLength(); i++) {
-            Element dep = (Element) dependencies.item(i);
-            String groupId = getElementContent(dep, "groupId");
-            String artifactId = getElementContent(dep, "artifactId");
-            String version = getElementContent(dep, "version");
-            String scope = getElementContent(dep, "scope");
+        for (PomModel.Dependency dep : pom.getDependencies()) {
+            String groupId = dep.getGroupId();
+            String artifactId = dep.getArtifactId();
+            String version = dep.getVersion();
+            String scope = dep.getScope();
 
-            System.out.println("DEBUG: Processing dependency: groupId=" + groupId + ", artifactId=" + artifactId + ", version=" + version + ", scope=" + (scope != null ? scope : "default (compile)"));
+            DebugLog.debug("Processing dependency: groupId={}, artifactId={}, version={}, scope={}", groupId, artifactId, version,
+                    scope != null ? scope : "default (compile)");
 
             if (groupId != null && artifactId != null && version != null) {
-                String resolvedVersion = resolveVersionProperties(version, pomDoc);
+                String resolvedVersion = pom.resolve(version);
                 String groupPath = groupId.replace('.', File.separatorChar);
                 Path jarPath = localRepo.resolve(groupPath)
                         .resolve(artifactId)
                         .resolve(resolvedVersion)
                         .resolve(artifactId + "-" + resolvedVersion + ".jar");
 
-                System.out.println("DEBUG: Attempting to locate JAR: " + jarPath.toString());
+                DebugLog.debug("Attempting to locate JAR: {}", jarPath.toString());
                 
-                if (jarPath.toFile().exists()) {
+                if (LocalRepositoryIndex.forRepository(localRepo).hasJar(groupId, artifactId, resolvedVersion)) {
                     configBuilder.classpath(jarPath.toString());
-                    System.out.println("DEBUG: Added to classpath: " + jarPath.toString());
+                    DebugLog.debug("Added to classpath: {}", jarPath.toString());
                 } else {
-                    System.out.println("DEBUG: JAR NOT FOUND: " + jarPath.toString());
+                    DebugLog.debug("JAR NOT FOUND: {}", jarPath.toString());
             }
             } else if (groupId != null && artifactId != null && version == null) {
-                System.out.println("DEBUG: No version specified for " + groupId + ":" + artifactId + ", searching in local repository...");
+                DebugLog.debug("No version specified for {}:{}, searching in local repository...", groupId, artifactId);
                 findAndAddAvailableVersions(configBuilder, localRepo, groupId, artifactId);
             } else {
-                System.out.println("DEBUG: Skipping dependency due to missing groupId, artifactId, or version.");
+                DebugLog.debug("Skipping dependency due to missing groupId, artifactId, or version.");
             }
         }
     }
@@ -318,7 +239,7 @@ public class MavenDetector extends AbstractBuildToolDetector {
             {"org.assertj", "assertj-core"}
         };
 
-        System.out.println("DEBUG: Starting comprehensive version selection for common test dependencies...");
+        DebugLog.debug("Starting comprehensive version selection for common test dependencies...");
         
         for (String[] dep : commonTestDeps) {
             String groupId = dep[0];
@@ -328,7 +249,7 @@ public class MavenDetector extends AbstractBuildToolDetector {
             // Strategy 1: Explicit versions from current project and modules
             String explicitVersion = explicitVersions.get(key);
             if (explicitVersion != null) {
-                System.out.println("DEBUG: Found explicit version for " + key + ": " + explicitVersion);
+                DebugLog.debug("Found explicit version for {}: {}", key, explicitVersion);
                 addSpecificVersion(configBuilder, localRepo, groupId, artifactId, explicitVersion);
                 continue;
             }
@@ -336,7 +257,7 @@ public class MavenDetector extends AbstractBuildToolDetector {
             // Strategy 2: Managed versions from current project and modules
             String managedVersion = managedVersions.get(key);
             if (managedVersion != null) {
-                System.out.println("DEBUG: Found managed version for " + key + ": " + managedVersion);
+                DebugLog.debug("Found managed version for {}: {}", key, managedVersion);
                 addSpecificVersion(configBuilder, localRepo, groupId, artifactId, managedVersion);
                 continue;
             }
@@ -344,7 +265,7 @@ public class MavenDetector extends AbstractBuildToolDetector {
             // Strategy 3: Inherited versions from parent POM chain
             String inheritedVersion = inheritedVersions.get(key);
             if (inheritedVersion != null) {
-                System.out.println("DEBUG: Found inherited version for " + key + ": " + inheritedVersion);
+                DebugLog.debug("Found inherited version for {}: {}", key, inheritedVersion);
                 addSpecificVersion(configBuilder, localRepo, groupId, artifactId, inheritedVersion);
                 continue;
             }
@@ -352,7 +273,7 @@ public class MavenDetector extends AbstractBuildToolDetector {
             // Strategy 4: Intelligent version inference from related dependencies
             String inferredVersion = inferCompatibleVersion(groupId, artifactId, explicitVersions, managedVersions, inheritedVersions);
             if (inferredVersion != null) {
-                System.out.println("DEBUG: Inferred compatible version for " + key + ": " + inferredVersion);
+                DebugLog.debug("Inferred compatible version for {}: {}", key, inferredVersion);
                 addSpecificVersion(configBuilder, localRepo, groupId, artifactId, inferredVersion);
                 continue;
             }
@@ -360,13 +281,13 @@ public class MavenDetector extends AbstractBuildToolDetector {
             // Strategy 5: Pattern-based version suggestion
             String patternVersion = suggestVersionFromPatterns(groupId, artifactId, explicitVersions, managedVersions, inheritedVersions);
             if (patternVersion != null) {
-                System.out.println("DEBUG: Suggested version based on patterns for " + key + ": " + patternVersion);
+                DebugLog.debug("Suggested version based on patterns for {}: {}", key, patternVersion);
                 addSpecificVersion(configBuilder, localRepo, groupId, artifactId, patternVersion);
                 continue;
             }
             
             // Strategy 6: Fallback to latest stable (avoid RC/SNAPSHOT versions)
-            System.out.println("DEBUG: No explicit, managed, inherited, or inferred version found for " + key + ", falling back to latest stable");
+            DebugLog.debug("No explicit, managed, inherited, or inferred version found for {}, falling back to latest stable", key);
             addLatestStableVersion(configBuilder, localRepo, groupId, artifactId);
         }
     }
@@ -389,7 +310,7 @@ public class MavenDetector extends AbstractBuildToolDetector {
             for (String key : allVersions.keySet()) {
                 if (key.startsWith("org.junit.jupiter:")) {
                     String version = allVersions.get(key);
-                    System.out.println("DEBUG: Found JUnit Jupiter version pattern: " + version);
+                    DebugLog.debug("Found JUnit Jupiter version pattern: {}", version);
                     return version;
                 }
             }
@@ -443,7 +364,7 @@ public class MavenDetector extends AbstractBuildToolDetector {
                 .orElse(null);
         
         if (dominantMajorVersion != null) {
-            System.out.println("DEBUG: Dominant major version pattern in project: " + dominantMajorVersion);
+            DebugLog.debug("Dominant major version pattern in project: {}", dominantMajorVersion);
             
             // Map to compatible test library versions
             if ("org.junit.jupiter".equals(groupId)) {
@@ -467,43 +388,42 @@ public class MavenDetector extends AbstractBuildToolDetector {
         try {
             String groupPath = groupId.replace('.', File.separatorChar);
             Path artifactDir = localRepo.resolve(groupPath).resolve(artifactId);
+            LocalRepositoryIndex index = LocalRepositoryIndex.forRepository(localRepo);
             
-            if (!artifactDir.toFile().exists()) {
-                System.out.println("DEBUG: Artifact directory not found for " + groupId + ":" + artifactId);
+            if (!index.containsArtifact(groupId, artifactId)) {
+                DebugLog.debug("Artifact directory not found for {}:{}", groupId, artifactId);
                 return;
             }
             
-            File[] versionDirs = artifactDir.toFile().listFiles(File::isDirectory);
-            if (versionDirs == null || versionDirs.length == 0) {
-                System.out.println("DEBUG: No version directories found for " + groupId + ":" + artifactId);
-                return;
-            }
-            
-            // Filter stable versions and sort
-            List<String> stableVersions = Arrays.stream(versionDirs)
-                    .map(File::getName)
-                    .filter(this::isStableVersion)
-                    .sorted((a, b) -> compareVersions(b, a)) // Descending order
-                    .collect(java.util.stream.Collectors.toList());
-            
-            System.out.println("DEBUG: Found " + stableVersions.size() + " stable versions for " + groupId + ":" + artifactId);
-            
-            for (String version : stableVersions) {
+            String version = findLatestStableJarVersion(index, groupId, artifactId);
+            if (version != null) {
                 Path jarPath = artifactDir.resolve(version).resolve(artifactId + "-" + version + ".jar");
-                if (jarPath.toFile().exists()) {
-                    configBuilder.classpath(jarPath.toString());
-                    System.out.println("DEBUG: Added latest stable version " + groupId + ":" + artifactId + ":" + version + " to classpath");
-                    return;
-                }
+                configBuilder.classpath(jarPath.toString());
+                DebugLog.debug("Added latest stable version {}:{}:{} to classpath", groupId, artifactId, version);
+                return;
             }
             
-            System.out.println("DEBUG: No stable JAR files found for " + groupId + ":" + artifactId);
+            DebugLog.debug("No stable JAR files found for {}:{}", groupId, artifactId);
             
         } catch (Exception e) {
-            System.out.println("DEBUG: Error finding stable version for " + groupId + ":" + artifactId + ": " + e.getMessage());
+            DebugLog.debug("Error finding stable version for {}:{}: {}", groupId, artifactId, e.getMessage());
         }
     }
     
+    /**
+     * Returns the newest stable version of an artifact whose jar is in the local repository, or null.
+     * A single pass over the indexed versions, so nothing is sorted.
+     */
+    private String findLatestStableJarVersion(LocalRepositoryIndex index, String groupId, String artifactId) {
+        String latest = null;
+        for (String version : index.getJarVersions(groupId, artifactId)) {
+            if (isStableVersion(version) && (latest == null || compareVersions(version, latest) > 0)) {
+                latest = version;
+            }
+        }
+        return latest;
+    }
+    
     /**
      * Checks if a version string represents a stable release
      */
@@ -549,10 +469,9 @@ public class MavenDetector extends AbstractBuildToolDetector {
             Path settingsPath = Paths.get(m2Home).resolve("conf").resolve(SETTINGS_FILE);
             if (settingsPath.toFile().exists()) {
                 try {
-                    Document settingsDoc = parseXmlFile(settingsPath.toFile());
-                    NodeList localRepoNodes = settingsDoc.getElementsByTagName("localRepository");
-                    if (localRepoNodes.getLength() > 0) {
-                        return Paths.get(localRepoNodes.item(0).getTextContent());
+                    String localRepository = PomReader.readLocalRepository(settingsPath);
+                    if (localRepository != null) {
+                        return Paths.get(localRepository);
                     }
                 } catch (Exception e) {
                     // Fall back to default
@@ -578,18 +497,23 @@ public class MavenDetector extends AbstractBuildToolDetector {
         }
     }
 
-    private Document parseXmlFile(File file) throws Exception {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        return builder.parse(file);
-    }
-
-    private String getElementContent(Element parent, String tagName) {
-        NodeList elements = parent.getElementsByTagName(tagName);
-        if (elements.getLength() > 0) {
-            return elements.item(0).getTextContent();
-        }
-        return null;
+    /**
+     * Reads a POM. Models are cached process-wide, so parent chains shared by many projects, and POMs
+     * read again by a later detection, are only parsed once while they are unchanged.
+     */
+    private PomModel readPom(Path pomFile) throws Exception {
+        return PomModelCache.global().get(pomFile, file -> {
+            PomParseEvent event = new PomParseEvent();
+            event.begin();
+            String outcome = DiscoveryEvent.FAILED;
+            try {
+                PomModel model = PomReader.read(file);
+                outcome = DiscoveryEvent.SUCCESS;
+                return model;
+            } finally {
+                event.finish(file.toString(), outcome);
+            }
+        });
     }
 
     /**
@@ -603,12 +527,12 @@ public class MavenDetector extends AbstractBuildToolDetector {
                 .resolve(version)
                 .resolve(artifactId + "-" + version + ".jar");
 
-        System.out.println("DEBUG: Checking for specific version: " + jarPath);
-        if (jarPath.toFile().exists()) {
+        DebugLog.debug("Checking for specific version: {}", jarPath);
+        if (LocalRepositoryIndex.forRepository(localRepo).hasJar(groupId, artifactId, version)) {
             configBuilder.classpath(jarPath.toString());
-            System.out.println("DEBUG: Added " + groupId + ":" + artifactId + ":" + version + " to classpath");
+            DebugLog.debug("Added {}:{}:{} to classpath", groupId, artifactId, version);
         } else {
-            System.out.println("DEBUG: Specific version NOT FOUND: " + jarPath + ", falling back to latest stable");
+            DebugLog.debug("Specific version NOT FOUND: {}, falling back to latest stable", jarPath);
             // If the specific version is not found, fall back to latest stable
             addLatestStableVersion(configBuilder, localRepo, groupId, artifactId);
         }
@@ -623,44 +547,26 @@ public class MavenDetector extends AbstractBuildToolDetector {
             String groupPath = groupId.replace('.', File.separatorChar);
             Path artifactDir = localRepo.resolve(groupPath).resolve(artifactId);
             
-            System.out.println("DEBUG: Searching for versions in: " + artifactDir);
-            
-            if (!artifactDir.toFile().exists() || !artifactDir.toFile().isDirectory()) {
-                System.out.println("DEBUG: Artifact directory not found: " + artifactDir);
-                return;
-            }
+            DebugLog.debug("Searching for versions in: {}", artifactDir);
+            LocalRepositoryIndex index = LocalRepositoryIndex.forRepository(localRepo);
             
-            File[] versionDirs = artifactDir.toFile().listFiles(File::isDirectory);
-            if (versionDirs == null || versionDirs.length == 0) {
-                System.out.println("DEBUG: No version directories found for " + groupId + ":" + artifactId);
+            if (!index.containsArtifact(groupId, artifactId)) {
+                DebugLog.debug("Artifact directory not found: {}", artifactDir);
                 return;
             }
             
-            // Sort version directories to prefer newer versions and filter stable ones
-            List<String> stableVersions = Arrays.stream(versionDirs)
-                    .map(File::getName)
-                    .filter(this::isStableVersion)
-                    .sorted((a, b) -> compareVersions(b, a))
-                    .collect(java.util.stream.Collectors.toList());
-            
-            boolean foundAny = false;
-            for (String version : stableVersions) {
+            // Take the latest stable version
+            String version = findLatestStableJarVersion(index, groupId, artifactId);
+            if (version != null) {
                 Path jarPath = artifactDir.resolve(version).resolve(artifactId + "-" + version + ".jar");
-                
-                if (jarPath.toFile().exists()) {
-                    configBuilder.classpath(jarPath.toString());
-                    System.out.println("DEBUG: Added available stable version to classpath: " + jarPath);
-                    foundAny = true;
-                    break; // Take the first (latest) stable version
-                }
-            }
-            
-            if (!foundAny) {
-                System.out.println("DEBUG: No stable JAR files found for " + groupId + ":" + artifactId);
+                configBuilder.classpath(jarPath.toString());
+                DebugLog.debug("Added available stable version to classpath: {}", jarPath);
+            } else {
+                DebugLog.debug("No stable JAR files found for {}:{}", groupId, artifactId);
             }
             
         } catch (Exception e) {
-            System.out.println("DEBUG: Error searching for versions of " + groupId + ":" + artifactId + ": " + e.getMessage());
+            DebugLog.debug("Error searching for versions of {}:{}: {}", groupId, artifactId, e.getMessage());
         }
     }
     
@@ -738,74 +644,69 @@ public class MavenDetector extends AbstractBuildToolDetector {
      * Adds current project's compiled classes and source directories
      */
     private void addCurrentProjectPaths(ParserConfig.Builder configBuilder, Path projectRoot) {
-        System.out.println("DEBUG: Adding current project paths for: " + projectRoot);
+        DebugLog.debug("Adding current project paths for: {}", projectRoot);
         
         // Add compiled classes directory (main)
         Path targetClasses = projectRoot.resolve("target").resolve("classes");
         if (targetClasses.toFile().exists()) {
             configBuilder.classpath(targetClasses.toString());
-            System.out.println("DEBUG: Added target/classes to classpath: " + targetClasses);
+            DebugLog.debug("Added target/classes to classpath: {}", targetClasses);
         }
 
         // Add compiled test classes directory
         Path targetTestClasses = projectRoot.resolve("target").resolve("test-classes");
         if (targetTestClasses.toFile().exists()) {
             configBuilder.classpath(targetTestClasses.toString());
-            System.out.println("DEBUG: Added target/test-classes to classpath: " + targetTestClasses);
+            DebugLog.debug("Added target/test-classes to classpath: {}", targetTestClasses);
         }
 
         // Add main resources directory
         Path mainResources = projectRoot.resolve("src").resolve("main").resolve("resources");
         if (mainResources.toFile().exists()) {
             configBuilder.classpath(mainResources.toString());
-            System.out.println("DEBUG: Added main resources to classpath: " + mainResources);
+            DebugLog.debug("Added main resources to classpath: {}", mainResources);
         }
 
         // Add test resources directory
         Path testResources = projectRoot.resolve("src").resolve("test").resolve("resources");
         if (testResources.toFile().exists()) {
             configBuilder.classpath(testResources.toString());
-            System.out.println("DEBUG: Added test resources to classpath: " + testResources);
+            DebugLog.debug("Added test resources to classpath: {}", testResources);
         }
 
         // Add main source directory to sourcepath
         Path mainSources = projectRoot.resolve("src").resolve("main").resolve("java");
         if (mainSources.toFile().exists()) {
             configBuilder.sourcepath(mainSources.toString());
-            System.out.println("DEBUG: Added main sources to sourcepath: " + mainSources);
+            DebugLog.debug("Added main sources to sourcepath: {}", mainSources);
         }
 
         // Add test source directory to sourcepath
         Path testSources = projectRoot.resolve("src").resolve("test").resolve("java");
         if (testSources.toFile().exists()) {
             configBuilder.sourcepath(testSources.toString());
-            System.out.println("DEBUG: Added test sources to sourcepath: " + testSources);
+            DebugLog.debug("Added test sources to sourcepath: {}", testSources);
         }
     }
     
     /**
      * Adds paths from all modules in a multi-module project
      */
-    private void addMultiModulePaths(ParserConfig.Builder configBuilder, Path projectRoot, Document pomDoc) {
-        NodeList modulesList = pomDoc.getElementsByTagName("modules");
-        if (modulesList.getLength() > 0) {
-            Element modules = (Element) modulesList.item(0);
-            NodeList moduleNodes = modules.getElementsByTagName("module");
-            
-            System.out.println("DEBUG: Processing " + moduleNodes.getLength() + " modules for sourcepath and classpath");
+    private void addMultiModulePaths(ParserConfig.Builder configBuilder, Path projectRoot, PomModel pom) {
+        if (!pom.getModules().isEmpty()) {
+            DebugLog.debug("Processing {} modules for sourcepath and classpath", pom.getModules().size());
             
-            for (int i = 0; i < moduleNodes.getLength(); i++) {
-                String moduleName = moduleNodes.item(i).getTextContent().trim();
+            for (String moduleName : pom.getModules()) {
                 Path moduleRoot = projectRoot.resolve(moduleName);
                 
-                System.out.println("DEBUG: Processing module: " + moduleName + " at " + moduleRoot);
+                DebugLog.debug("Processing module: {} at {}", moduleName, moduleRoot);
                 
                 if (moduleRoot.toFile().exists() && moduleRoot.toFile().isDirectory()) {
                     addModulePaths(configBuilder, moduleRoot, moduleName);
                 }
             }
         } else {
-            System.out.println("DEBUG: No modules found, this is a single-module project");
+            DebugLog.debug("No modules found, this is a single-module project");
         }
     }
     
@@ -817,39 +718,39 @@ public class MavenDetector extends AbstractBuildToolDetector {
         Path moduleTargetClasses = moduleRoot.resolve("target").resolve("classes");
         if (moduleTargetClasses.toFile().exists()) {
             configBuilder.classpath(moduleTargetClasses.toString());
-            System.out.println("DEBUG: Added module " + moduleName + " target/classes: " + moduleTargetClasses);
+            DebugLog.debug("Added module {} target/classes: {}", moduleName, moduleTargetClasses);
         }
         
         Path moduleTargetTestClasses = moduleRoot.resolve("target").resolve("test-classes");
         if (moduleTargetTestClasses.toFile().exists()) {
             configBuilder.classpath(moduleTargetTestClasses.toString());
-            System.out.println("DEBUG: Added module " + moduleName + " target/test-classes: " + moduleTargetTestClasses);
+            DebugLog.debug("Added module {} target/test-classes: {}", moduleName, moduleTargetTestClasses);
         }
         
         // Add module's resources to classpath
         Path moduleMainResources = moduleRoot.resolve("src").resolve("main").resolve("resources");
         if (moduleMainResources.toFile().exists()) {
             configBuilder.classpath(moduleMainResources.toString());
-            System.out.println("DEBUG: Added module " + moduleName + " main resources: " + moduleMainResources);
+            DebugLog.debug("Added module {} main resources: {}", moduleName, moduleMainResources);
         }
         
         Path moduleTestResources = moduleRoot.resolve("src").resolve("test").resolve("resources");
         if (moduleTestResources.toFile().exists()) {
             configBuilder.classpath(moduleTestResources.toString());
-            System.out.println("DEBUG: Added module " + moduleName + " test resources: " + moduleTestResources);
+            DebugLog.debug("Added module {} test resources: {}", moduleName, moduleTestResources);
         }
         
         // Add module's source directories to sourcepath
         Path moduleMainSources = moduleRoot.resolve("src").resolve("main").resolve("java");
         if (moduleMainSources.toFile().exists()) {
             configBuilder.sourcepath(moduleMainSources.toString());
-            System.out.println("DEBUG: Added module " + moduleName + " main sources: " + moduleMainSources);
+            DebugLog.debug("Added module {} main sources: {}", moduleName, moduleMainSources);
         }
         
         Path moduleTestSources = moduleRoot.resolve("src").resolve("test").resolve("java");
         if (moduleTestSources.toFile().exists()) {
             configBuilder.sourcepath(moduleTestSources.toString());
-            System.out.println("DEBUG: Added module " + moduleName + " test sources: " + moduleTestSources);
+            DebugLog.debug("Added module {} test sources: {}", moduleName, moduleTestSources);
         }
     }
 }
@@ -0,0 +1,30 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Provides the {@link MavenDetector} for projects with a {@code pom.xml}.
+ */
+public class MavenDetectorProvider implements ProjectDetectorProvider {
+
+    @Override
+    public String name() {
+        return "MavenDetector";
+    }
+
+    @Override
+    public boolean supports(Path projectRoot) {
+        return Files.exists(projectRoot.resolve("pom.xml"));
+    }
+
+    @Override
+    public ProjectDetector create() {
+        return new MavenDetector();
+    }
+
+    @Override
+    public int order() {
+        return 100;
+    }
+}
@@ -0,0 +1,196 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What {@link MavenDetector} needs from a POM, as read by {@link PomReader}: the project and parent
+ * coordinates, the properties, the modules and the direct and managed dependencies. Instances are immutable.
+ * <p>
+ * Only the elements of the project itself count, so e.g. dependencies of plugins or profiles are not
+ * included. The versions of the dependencies are also available keyed by {@code groupId:artifactId} with
+ * properties resolved, see {@link #resolve(String)}.
+ */
+public final class PomModel {
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final String packaging;
+    private final String parentGroupId;
+    private final String parentArtifactId;
+    private final String parentVersion;
+    private final Map<String, String> properties;
+    private final List<String> modules;
+    private final List<Dependency> dependencies;
+    private final List<Dependency> managedDependencies;
+    private final Map<String, String> dependencyVersions;
+    private final Map<String, String> managedVersions;
+
+    private PomModel(Builder builder) {
+        this.groupId = builder.groupId;
+        this.artifactId = builder.artifactId;
+        this.version = builder.version;
+        this.packaging = builder.packaging;
+        this.parentGroupId = builder.parentGroupId;
+        this.parentArtifactId = builder.parentArtifactId;
+        this.parentVersion = builder.parentVersion;
+        this.properties = Collections.unmodifiableMap(new LinkedHashMap<>(builder.properties));
+        this.modules = List.copyOf(builder.modules);
+        this.dependencies = List.copyOf(builder.dependencies);
+        this.managedDependencies = List.copyOf(builder.managedDependencies);
+        this.dependencyVersions = versionsByKey(dependencies);
+        this.managedVersions = versionsByKey(managedDependencies);
+    }
+
+    // Builder pattern implementation
+    public static class Builder {
+        private String groupId;
+        private String artifactId;
+        private String version;
+        private String packaging;
+        private String parentGroupId;
+        private String parentArtifactId;
+        private String parentVersion;
+        private final Map<String, String> properties = new LinkedHashMap<>();
+        private final List<String> modules = new ArrayList<>();
+        private final List<Dependency> dependencies = new ArrayList<>();
+        private final List<Dependency> managedDependencies = new ArrayList<>();
+
+        public Builder coordinates(String groupId, String artifactId, String version) {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.version = version;
+            return this;
+        }
+
+        public Builder packaging(String packaging) {
+            this.packaging = packaging;
+            return this;
+        }
+
+        public Builder parent(String groupId, String artifactId, String version) {
+            this.parentGroupId = groupId;
+            this.parentArtifactId = artifactId;
+            this.parentVersion = version;
+            return this;
+        }
+
+        public Builder property(String name, String value) {
+            properties.put(name, value);
+            return this;
+        }
+
+        public Builder module(String module) {
+            modules.add(module);
+            return this;
+        }
+
+        public Builder dependency(Dependency dependency) {
+            dependencies.add(dependency);
+            return this;
+        }
+
+        public Builder managedDependency(Dependency dependency) {
+            managedDependencies.add(dependency);
+            return this;
+        }
+
+        public PomModel build() {
+            return new PomModel(this);
+        }
+    }
+
+    /**
+     * Whether the POM declares a parent with complete coordinates.
+     */
+    public boolean hasParent() {
+        return parentGroupId != null && parentArtifactId != null && parentVersion != null;
+    }
+
+    /**
+     * Resolves a value that consists of a single property reference, such as {@code ${junit.version}}, from
+     * the properties of this POM or, for {@code project.version}, its version. Other values, and references
+     * that cannot be resolved, are returned unchanged.
+     */
+    public String resolve(String value) {
+        if (value == null || !value.startsWith("${") || !value.endsWith("}")) {
+            return value;
+        }
+
+        String propertyName = value.substring(2, value.length() - 1);
+        String resolved = properties.get(propertyName);
+        if (resolved != null) {
+            DebugLog.debug("Resolved property '{}' to '{}'", propertyName, resolved);
+            return resolved;
+        }
+
+        // A project without a version of its own inherits the version of its parent
+        if ("project.version".equals(propertyName)) {
+            String projectVersion = version != null ? version : parentVersion;
+            if (projectVersion != null) {
+                DebugLog.debug("Resolved project.version to '{}'", projectVersion);
+                return projectVersion;
+            }
+        }
+
+        DebugLog.debug("Could not resolve property '{}', keeping original: {}", propertyName, value);
+        return value;
+    }
+
+    private Map<String, String> versionsByKey(List<Dependency> dependencies) {
+        Map<String, String> versions = new LinkedHashMap<>();
+        for (Dependency dependency : dependencies) {
+            if (dependency.getGroupId() != null && dependency.getArtifactId() != null && dependency.getVersion() != null) {
+                versions.put(dependency.getKey(), resolve(dependency.getVersion()));
+            }
+        }
+        return Collections.unmodifiableMap(versions);
+    }
+
+    // Getters
+    public String getGroupId() { return groupId; }
+    public String getArtifactId() { return artifactId; }
+    public String getVersion() { return version; }
+    public String getPackaging() { return packaging; }
+    public String getParentGroupId() { return parentGroupId; }
+    public String getParentArtifactId() { return parentArtifactId; }
+    public String getParentVersion() { return parentVersion; }
+    public Map<String, String> getProperties() { return properties; }
+    public List<String> getModules() { return modules; }
+    public List<Dependency> getDependencies() { return dependencies; }
+    public List<Dependency> getManagedDependencies() { return managedDependencies; }
+    /** Versions of the dependencies with complete coordinates, keyed by {@code groupId:artifactId}. */
+    public Map<String, String> getDependencyVersions() { return dependencyVersions; }
+    /** Versions of the managed dependencies with complete coordinates, keyed by {@code groupId:artifactId}. */
+    public Map<String, String> getManagedVersions() { return managedVersions; }
+
+    /**
+     * A dependency as declared, with its version unresolved. Any element may be missing.
+     */
+    public static final class Dependency {
+        private final String groupId;
+        private final String artifactId;
+        private final String version;
+        private final String scope;
+
+        public Dependency(String groupId, String artifactId, String version, String scope) {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.version = version;
+            this.scope = scope;
+        }
+
+        public String getKey() {
+            return groupId + ":" + artifactId;
+        }
+
+        // Getters
+        public String getGroupId() { return groupId; }
+        public String getArtifactId() { return artifactId; }
+        public String getVersion() { return version; }
+        public String getScope() { return scope; }
+    }
+}
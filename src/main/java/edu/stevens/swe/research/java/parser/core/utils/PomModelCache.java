@@ -0,0 +1,135 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import edu.stevens.swe.research.java.parser.core.metrics.DiscoveryMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cache of the {@link PomModel}s of POM files, so parent POM chains shared by many projects,
+ * such as {@code org.apache:apache}, are parsed once per process rather than once per project.
+ * <p>
+ * Entries are keyed by absolute path and validated by modification time and size, so a POM changed on disk
+ * is parsed again. The cache holds at most {@link #getMaxEntries()} models and evicts the least recently
+ * used one beyond that; the bound defaults to 1024 and can be set with {@code -Dparser.core.pomCacheSize}.
+ * Hits and misses are also counted in {@link DiscoveryMetrics#global()}. Instances are thread-safe.
+ */
+public class PomModelCache {
+    private static final int DEFAULT_MAX_ENTRIES = 1024;
+    private static final PomModelCache GLOBAL = new PomModelCache(Integer.getInteger("parser.core.pomCacheSize", DEFAULT_MAX_ENTRIES));
+
+    private final int maxEntries;
+    private final Map<Path, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public PomModelCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, Entry> eldest) {
+                return size() > PomModelCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cache shared by every detector in this process.
+     */
+    public static PomModelCache global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Reads a POM into a model.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        PomModel load(Path pomFile) throws Exception;
+    }
+
+    /**
+     * Returns the model of the given POM, loading it if it is not cached or changed since it was cached.
+     * Loading happens outside the cache lock, so two threads missing the same POM at once may both load it.
+     *
+     * @param pomFile The POM file.
+     * @param loader Reads the POM when it is not cached.
+     * @return The model of the POM.
+     * @throws Exception if the file attributes cannot be read or the loader fails.
+     */
+    public PomModel get(Path pomFile, Loader loader) throws Exception {
+        Path key = pomFile.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.lastModified == lastModified && entry.size == size) {
+            hits.incrementAndGet();
+            DiscoveryMetrics.global().increment(DiscoveryMetrics.POM_CACHE_HITS);
+            return entry.model;
+        }
+
+        misses.incrementAndGet();
+        DiscoveryMetrics.global().increment(DiscoveryMetrics.POM_CACHE_MISSES);
+        PomModel model = loader.load(key);
+        synchronized (entries) {
+            entries.put(key, new Entry(lastModified, size, model));
+        }
+        return model;
+    }
+
+    /**
+     * Forgets every cached model. The hit and miss counts are kept.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the share of lookups answered from the cache, or 0 before the first lookup.
+     */
+    public double getHitRate() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxEntries() { return maxEntries; }
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+
+    /**
+     * A cached model and the state of its file when it was read.
+     */
+    private static final class Entry {
+        private final long lastModified;
+        private final long size;
+        private final PomModel model;
+
+        private Entry(long lastModified, long size, PomModel model) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.model = model;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads POMs into {@link PomModel}s in a single streaming pass.
+ * <p>
+ * Only the elements the model holds are looked at, each at its exact place under {@code <project>}; every
+ * other subtree, such as {@code <build>}, {@code <profiles>} or {@code <exclusions>}, is skipped without
+ * collecting its text. Element names are matched without their namespace. DTDs and external entities are
+ * not processed.
+ */
+public final class PomReader {
+    private static final ThreadLocal<XMLInputFactory> FACTORY = ThreadLocal.withInitial(PomReader::newFactory);
+
+    private PomReader() {
+    }
+
+    /**
+     * Reads the given POM.
+     *
+     * @throws IOException if the file cannot be read or is not well-formed XML.
+     */
+    public static PomModel read(Path pomFile) throws IOException {
+        try (InputStream in = Files.newInputStream(pomFile)) {
+            XMLStreamReader reader = FACTORY.get().createXMLStreamReader(in);
+            try {
+                return readProject(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed POM " + pomFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the {@code <localRepository>} of a Maven {@code settings.xml}.
+     *
+     * @return The configured local repository, or null if the settings do not set one.
+     * @throws IOException if the file cannot be read or is not well-formed XML.
+     */
+    public static String readLocalRepository(Path settingsFile) throws IOException {
+        try (InputStream in = Files.newInputStream(settingsFile)) {
+            XMLStreamReader reader = FACTORY.get().createXMLStreamReader(in);
+            try {
+                if (!nextChild(reader)) {
+                    return null;
+                }
+                while (nextChild(reader)) {
+                    if ("localRepository".equals(reader.getLocalName())) {
+                        String localRepository = readText(reader);
+                        return localRepository.isEmpty() ? null : localRepository;
+                    }
+                    skipElement(reader);
+                }
+                return null;
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed settings " + settingsFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static PomModel readProject(XMLStreamReader reader) throws XMLStreamException {
+        PomModel.Builder builder = new PomModel.Builder();
+        if (!nextChild(reader)) {
+            return builder.build();
+        }
+        String groupId = null;
+        String artifactId = null;
+        String version = null;
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "groupId":
+                    groupId = readText(reader);
+                    break;
+                case "artifactId":
+                    artifactId = readText(reader);
+                    break;
+                case "version":
+                    version = readText(reader);
+                    break;
+                case "packaging":
+                    builder.packaging(readText(reader));
+                    break;
+                case "parent":
+                    readParent(reader, builder);
+                    break;
+                case "properties":
+                    while (nextChild(reader)) {
+                        String name = reader.getLocalName();
+                        builder.property(name, readText(reader));
+                    }
+                    break;
+                case "modules":
+                    while (nextChild(reader)) {
+                        if ("module".equals(reader.getLocalName())) {
+                            builder.module(readText(reader));
+                        } else {
+                            skipElement(reader);
+                        }
+                    }
+                    break;
+                case "dependencies":
+                    while (nextChild(reader)) {
+                        if ("dependency".equals(reader.getLocalName())) {
+                            builder.dependency(readDependency(reader));
+                        } else {
+                            skipElement(reader);
+                        }
+                    }
+                    break;
+                case "dependencyManagement":
+                    while (nextChild(reader)) {
+                        if ("dependencies".equals(reader.getLocalName())) {
+                            while (nextChild(reader)) {
+                                if ("dependency".equals(reader.getLocalName())) {
+                                    builder.managedDependency(readDependency(reader));
+                                } else {
+                                    skipElement(reader);
+                                }
+                            }
+                        } else {
+                            skipElement(reader);
+                        }
+                    }
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return builder.coordinates(groupId, artifactId, version).build();
+    }
+
+    private static void readParent(XMLStreamReader reader, PomModel.Builder builder) throws XMLStreamException {
+        String groupId = null;
+        String artifactId = null;
+        String version = null;
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "groupId":
+                    groupId = readText(reader);
+                    break;
+                case "artifactId":
+                    artifactId = readText(reader);
+                    break;
+                case "version":
+                    version = readText(reader);
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        builder.parent(groupId, artifactId, version);
+    }
+
+    private static PomModel.Dependency readDependency(XMLStreamReader reader) throws XMLStreamException {
+        String groupId = null;
+        String artifactId = null;
+        String version = null;
+        String scope = null;
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "groupId":
+                    groupId = readText(reader);
+                    break;
+                case "artifactId":
+                    artifactId = readText(reader);
+                    break;
+                case "version":
+                    version = readText(reader);
+                    break;
+                case "scope":
+                    scope = readText(reader);
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return new PomModel.Dependency(groupId, artifactId, version, scope);
+    }
+
+    /**
+     * Advances to the next child of the current element, or to the root element at the start of the
+     * document. Returns false, positioned on the end of the current element, when there are no more children.
+     */
+    private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the trimmed text of the current element and moves to its end. Text of nested elements is
+     * ignored.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = null;
+        String single = null;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE) {
+                // Almost every element has a single text event, so avoid the builder until there is a second
+                if (single == null) {
+                    single = reader.getText();
+                } else {
+                    if (text == null) {
+                        text = new StringBuilder(single);
+                    }
+                    text.append(reader.getText());
+                }
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                skipElement(reader);
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+        String value = text != null ? text.toString() : single;
+        return value == null ? "" : value.trim();
+    }
+
+    /**
+     * Moves to the end of the current element, skipping its content.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static XMLInputFactory newFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+}
@@ -0,0 +1,38 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import java.nio.file.Path;
+
+/**
+ * Supplies a {@link ProjectDetector} to {@link BuildToolDetectorFactory}, which finds providers with
+ * {@link java.util.ServiceLoader}. Register an implementation in
+ * {@code META-INF/services/edu.stevens.swe.research.java.parser.core.utils.ProjectDetectorProvider}.
+ * <p>
+ * Providers are instantiated when the factory is initialised, so a provider class must not refer to its
+ * detector other than in {@link #create()}: that way a detector and the libraries it uses are only loaded
+ * for projects it {@link #supports(Path) supports}.
+ */
+public interface ProjectDetectorProvider {
+
+    /**
+     * The name of the detector, used in log output.
+     */
+    String name();
+
+    /**
+     * Checks cheaply, e.g. by looking for a build file, whether the detector handles the project.
+     */
+    boolean supports(Path projectRoot);
+
+    /**
+     * Creates the detector. Called at most once, the first time a supported project is detected.
+     */
+    ProjectDetector create();
+
+    /**
+     * Detectors are consulted in ascending order; the first one supporting a project detects it.
+     * The built-in detectors use 100 (Maven) and 200 (Gradle).
+     */
+    default int order() {
+        return 1000;
+    }
+}
@@ -0,0 +1,63 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import edu.stevens.swe.research.java.parser.core.core.ParserConfig;
+import edu.stevens.swe.research.java.parser.core.utils.exceptions.ProjectDetectionException;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Set;
+
+/**
+ * Builds a syntax-only {@link ParserConfig} from the conventional {@code src/test/java} layout
+ * without asking Maven or Gradle for anything. The resulting configuration has no classpath and
+ * is meant for parsing without binding resolution.
+ */
+public class SourceLayoutDetector extends AbstractBuildToolDetector {
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of("build", "target", "node_modules", "out", "bin");
+
+    @Override
+    public boolean supports(Path projectRoot) {
+        return Files.isDirectory(projectRoot);
+    }
+
+    @Override
+    public ParserConfig detect(Path projectRoot) throws ProjectDetectionException {
+        if (!supports(projectRoot)) {
+            throw new ProjectDetectionException("Not a directory: " + projectRoot);
+        }
+
+        ParserConfig.Builder configBuilder = createBaseConfig();
+        try {
+            Files.walkFileTree(projectRoot, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    String name = dir.getFileName() == null ? "" : dir.getFileName().toString();
+                    if (!dir.equals(projectRoot) && (name.startsWith(".") || SKIPPED_DIRECTORIES.contains(name))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if ("src".equals(name)) {
+                        // Modules never nest inside a source folder, so only the test root matters here
+                        Path testSources = dir.resolve("test").resolve("java");
+                        if (Files.isDirectory(testSources)) {
+                            configBuilder.sourcepath(testSources.toString());
+                        }
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new ProjectDetectionException("Failed to scan source layout of " + projectRoot, e);
+        }
+        return configBuilder.build();
+    }
+}
@@ -1,14 +1,29 @@
 package edu.stevens.swe.research.java.parser.core;
 
+import edu.stevens.swe.research.java.parser.core.core.DiscoveryOptions;
+import edu.stevens.swe.research.java.parser.core.core.LiveTestIndex;
+import edu.stevens.swe.research.java.parser.core.core.ParseProfile;
 import edu.stevens.swe.research.java.parser.core.core.ParserConfig;
+import edu.stevens.swe.research.java.parser.core.metrics.DiscoveryMetrics;
+import edu.stevens.swe.research.java.parser.core.metrics.MetricsListener;
+import edu.stevens.swe.research.java.parser.core.metrics.ParseEvent;
+import edu.stevens.swe.research.java.parser.core.metrics.Phase;
+import edu.stevens.swe.research.java.parser.core.metrics.SourceReadEvent;
+import edu.stevens.swe.research.java.parser.core.metrics.VisitEvent;
+import edu.stevens.swe.research.java.parser.core.model.ChunkStatistics;
+import edu.stevens.swe.research.java.parser.core.model.DiscoveryResult;
 import edu.stevens.swe.research.java.parser.core.model.TestCaseInfo;
 import edu.stevens.swe.research.java.parser.core.utils.BuildToolDetectorFactory;
 import edu.stevens.swe.research.java.parser.core.utils.exceptions.ProjectDetectionException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -19,13 +34,23 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class ResearchParserTest {
+    /** Test methods declared by {@link #writeSampleProject(Path)}. */
+    private static final int SAMPLE_TEST_COUNT = 8;
 
     @Mock
     private ParserConfig mockParserConfig;
@@ -183,6 +208,382 @@ public class ResearchParserTest {
         }
     }
 
+    @Test
+    void getTestCases_shouldMatchSequentialResults_whenDiscoveringInParallel(@TempDir Path projectRoot) throws Exception {
+        writeSampleProject(projectRoot);
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockDetection(projectRoot, "src/test/java")) {
+            List<TestCaseInfo> sequential = researchParser.getTestCases(projectRoot);
+            List<TestCaseInfo> parallel = researchParser.getTestCases(projectRoot,
+                    new DiscoveryOptions.Builder().parallelism(4).deterministicOrder(true).build());
+
+            assertEquals(SAMPLE_TEST_COUNT, sequential.size(), "Every test method of the sample project should be found.");
+            assertEquals(sequential, parallel, "Parallel discovery with deterministic order should match the sequential result.");
+        }
+    }
+
+    @Test
+    void getTestCases_shouldMatchSequentialResults_whenBatchParsing(@TempDir Path projectRoot) throws Exception {
+        writeSampleProject(projectRoot);
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockDetection(projectRoot, "src/test/java")) {
+            List<TestCaseInfo> sequential = researchParser.getTestCases(projectRoot);
+            List<TestCaseInfo> batched = researchParser.getTestCases(projectRoot,
+                    new DiscoveryOptions.Builder().batchParsing(true).parallelism(2).build());
+
+            assertEquals(SAMPLE_TEST_COUNT, batched.size());
+            assertEquals(sequential, batched, "Batch parsing should find the same test cases in the same order.");
+        }
+    }
+
+    @Test
+    void getTestCases_shouldFindSameTestsWithoutDetection_whenUsingFastSyntaxProfile(@TempDir Path projectRoot) throws Exception {
+        writeSampleProject(projectRoot);
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockDetection(projectRoot, "src/test/java")) {
+            List<TestCaseInfo> fullBindings = researchParser.getTestCases(projectRoot);
+            mockedFactory.clearInvocations();
+
+            List<TestCaseInfo> fastSyntax = researchParser.getTestCases(projectRoot,
+                    new DiscoveryOptions.Builder().parseProfile(ParseProfile.FAST_SYNTAX).build());
+
+            mockedFactory.verifyNoInteractions();
+            assertEquals(SAMPLE_TEST_COUNT, fullBindings.size());
+            assertEquals(fullBindings, fastSyntax, "The fast syntax profile should find the same test cases.");
+        }
+    }
+
+    @Test
+    void streamTestCases_shouldYieldSameTestsAsList(@TempDir Path projectRoot) throws Exception {
+        writeSampleProject(projectRoot);
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockDetection(projectRoot, "src/test/java")) {
+            List<TestCaseInfo> listed = researchParser.getTestCases(projectRoot);
+            List<TestCaseInfo> streamed;
+            try (Stream<TestCaseInfo> testCases = researchParser.streamTestCases(projectRoot, DiscoveryOptions.defaults())) {
+                streamed = testCases.collect(Collectors.toList());
+            }
+            List<TestCaseInfo> sunk = new ArrayList<>();
+            researchParser.discoverTestCases(projectRoot, DiscoveryOptions.defaults(), sunk::add);
+
+            assertEquals(SAMPLE_TEST_COUNT, listed.size());
+            assertEquals(listed, streamed, "Streaming discovery should yield the same test cases in the same order.");
+            assertEquals(listed, sunk, "Sink based discovery should receive the same test cases in the same order.");
+        }
+    }
+
+    @Test
+    void streamTestCases_shouldStopEarly_whenOnlyFirstResultIsConsumed(@TempDir Path projectRoot) throws Exception {
+        writeSampleProject(projectRoot);
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockDetection(projectRoot, "src/test/java")) {
+            DiscoveryMetrics metrics = DiscoveryMetrics.global();
+            metrics.reset();
+            try (Stream<TestCaseInfo> testCases = researchParser.streamTestCases(projectRoot, DiscoveryOptions.defaults())) {
+                assertTrue(testCases.findFirst().isPresent(), "The first test case should be available from the stream.");
+            }
+
+            // The sample project has four test files, but the first one already yields a test case
+            assertEquals(1, metrics.getCounter(DiscoveryMetrics.FILES_PARSED), "Only the first test file should be parsed.");
+        }
+    }
+
+    @Test
+    void getTestCases_shouldServeSameTestsFromCache_whenFilesAreUnchanged(@TempDir Path tempDir) throws Exception {
+        Path projectRoot = tempDir.resolve("project");
+        Path cacheDirectory = Files.createDirectories(tempDir.resolve("cache"));
+        writeSampleProject(projectRoot);
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockDetection(projectRoot, "src/test/java")) {
+            DiscoveryOptions cached = new DiscoveryOptions.Builder().cacheDirectory(cacheDirectory).build();
+            List<TestCaseInfo> uncached = researchParser.getTestCases(projectRoot);
+            List<TestCaseInfo> cold = researchParser.getTestCases(projectRoot, cached);
+            List<TestCaseInfo> warm = researchParser.getTestCases(projectRoot, cached);
+
+            try (Stream<Path> cacheFiles = Files.list(cacheDirectory)) {
+                assertEquals(1, cacheFiles.count(), "One cache file should be written for the project.");
+            }
+            assertEquals(SAMPLE_TEST_COUNT, uncached.size());
+            assertEquals(uncached, cold, "A cold cache should not change the discovered test cases.");
+            assertEquals(uncached, warm, "A warm cache should yield the same test cases in the same order.");
+        }
+    }
+
+    @Test
+    void discover_shouldSkipFilesWithoutTests_andFindSameTestsAsWithoutPreFilter(@TempDir Path projectRoot) throws Exception {
+        writeSampleProject(projectRoot);
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockDetection(projectRoot, "src/test/java")) {
+            DiscoveryResult unfiltered = researchParser.discover(projectRoot,
+                    new DiscoveryOptions.Builder().preFilter(false).build());
+            DiscoveryResult filtered = researchParser.discover(projectRoot, DiscoveryOptions.defaults());
+
+            assertEquals(0, unfiltered.getSkippedFiles(), "Nothing should be skipped with the pre-filter disabled.");
+            assertEquals(unfiltered.getTotalFiles(), unfiltered.getParsedFiles(), "Every file should be parsed without the pre-filter.");
+            assertEquals(1, filtered.getSkippedFiles(), "The helper class without tests should be skipped.");
+            assertEquals(filtered.getTotalFiles(), filtered.getParsedFiles() + filtered.getSkippedFiles(),
+                    "Every file should either be parsed or skipped.");
+            assertEquals(SAMPLE_TEST_COUNT, filtered.getTestCases().size());
+            assertEquals(unfiltered.getTestCases(), filtered.getTestCases(), "The pre-filter must not lose any test case.");
+        }
+    }
+
+    @Test
+    void discover_shouldReportChunkHeapUsage_andFindSameTests_whenMemoryIsBounded(@TempDir Path projectRoot) throws Exception {
+        writeSampleProject(projectRoot);
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockDetection(projectRoot, "src/test/java")) {
+            DiscoveryResult unbounded = researchParser.discover(projectRoot, DiscoveryOptions.defaults());
+            DiscoveryResult bounded = researchParser.discover(projectRoot,
+                    new DiscoveryOptions.Builder().heapBudget(Runtime.getRuntime().maxMemory()).build());
+
+            assertTrue(unbounded.getChunks().isEmpty(), "Unbounded discovery should not report chunks.");
+            assertFalse(bounded.getChunks().isEmpty(), "Bounded discovery should report its chunks.");
+            assertEquals(bounded.getTotalFiles(), bounded.getChunks().stream().mapToInt(ChunkStatistics::getFileCount).sum(),
+                    "Every file should belong to exactly one chunk.");
+            assertTrue(bounded.getPeakHeapBytes() > 0, "The peak heap usage should be reported.");
+            assertEquals(SAMPLE_TEST_COUNT, unbounded.getTestCases().size());
+            assertEquals(unbounded.getTestCases(), bounded.getTestCases(), "Bounded discovery should find the same test cases in the same order.");
+        }
+    }
+
+    @Test
+    void discover_shouldReturnPartialResult_whenDeadlineIsReached(@TempDir Path projectRoot) throws Exception {
+        writeSampleProject(projectRoot);
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockDetection(projectRoot, "src/test/java")) {
+            DiscoveryResult complete = researchParser.discover(projectRoot,
+                    new DiscoveryOptions.Builder().fileTimeout(Duration.ofMinutes(1)).deadline(Duration.ofMinutes(10)).build());
+            DiscoveryResult partial = researchParser.discover(projectRoot,
+                    new DiscoveryOptions.Builder().deadline(Duration.ofNanos(1)).build());
+
+            assertEquals(SAMPLE_TEST_COUNT, complete.getTestCases().size());
+            assertFalse(complete.isPartial(), "Discovery well within the deadline should be complete.");
+            assertTrue(complete.getTimedOutFiles().isEmpty(), "No sample test file should exceed a one minute budget.");
+            assertTrue(partial.isPartial(), "Discovery past its deadline should be marked as partial.");
+            assertTrue(partial.getTestCases().size() < complete.getTestCases().size(),
+                    "A partial result should hold fewer test cases than a complete one.");
+        }
+    }
+
+    @Test
+    void discover_shouldReportTimedOutFiles_whenEachFileExceedsItsBudget(@TempDir Path projectRoot) throws Exception {
+        writeSampleProject(projectRoot);
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockDetection(projectRoot, "src/test/java")) {
+            DiscoveryMetrics metrics = DiscoveryMetrics.global();
+            metrics.reset();
+            // The budget is spent before JDT first checks the monitor, so every parse is canceled
+            DiscoveryResult result = researchParser.discover(projectRoot,
+                    new DiscoveryOptions.Builder().fileTimeout(Duration.ofNanos(1)).build());
+
+            assertEquals(4, result.getTimedOutFiles().size(), "Every sample test file should exceed a one nanosecond budget.");
+            assertEquals(4, metrics.getCounter(DiscoveryMetrics.FILES_TIMED_OUT));
+            assertFalse(result.isPartial(), "A file exceeding its own budget must not be reported as reaching the deadline.");
+            assertTrue(result.getTestCases().isEmpty(), "The test cases of timed out files should be missing.");
+        }
+    }
+
+    @Test
+    void openLiveIndex_shouldFollowCreatedAndDeletedTestFiles(@TempDir Path projectRoot) throws Exception {
+        Path testSources = Files.createDirectories(projectRoot.resolve("src/test/java/sample"));
+        Files.writeString(testSources.resolve("FirstTest.java"),
+                "package sample;\n\npublic class FirstTest {\n    @Test\n    public void first() {}\n}\n");
+
+        DiscoveryOptions options = new DiscoveryOptions.Builder().parseProfile(ParseProfile.FAST_SYNTAX).build();
+        try (LiveTestIndex index = researchParser.openLiveIndex(projectRoot, options)) {
+            assertEquals(1, index.getTestCases().size(), "The initial discovery should find the existing test.");
+
+            Path second = testSources.resolve("SecondTest.java");
+            Files.writeString(second,
+                    "package sample;\n\npublic class SecondTest {\n    @Test\n    public void second() {}\n}\n");
+            awaitTestCount(index, 2);
+            assertEquals("second", index.getTestCases(second).get(0).getMethodName());
+
+            Files.delete(second);
+            awaitTestCount(index, 1);
+            assertTrue(index.getTestCases(second).isEmpty(), "A deleted file should be dropped from the index.");
+        }
+    }
+
+    @Test
+    void openLiveIndex_shouldIndexFilesTheInitialDiscoveryDidNotFinish(@TempDir Path projectRoot) throws Exception {
+        Path testSources = Files.createDirectories(projectRoot.resolve("src/test/java/sample"));
+        Files.writeString(testSources.resolve("FirstTest.java"),
+                "package sample;\n\npublic class FirstTest {\n    @Test\n    public void first() {}\n}\n");
+
+        // The deadline passes before the first file, so the initial discovery finishes nothing
+        DiscoveryOptions options = new DiscoveryOptions.Builder().parseProfile(ParseProfile.FAST_SYNTAX)
+                .deadline(Duration.ofNanos(1)).build();
+        try (LiveTestIndex index = researchParser.openLiveIndex(projectRoot, options)) {
+            awaitTestCount(index, 1);
+            assertFalse(index.isFailed());
+            assertEquals(1, index.getFileCount(), "The unfinished file should be indexed once it was parsed.");
+        }
+    }
+
+    @Test
+    void getTestCases_shouldWalkNestedRootsOnce_andPruneBuildAndExcludedDirectories(@TempDir Path projectRoot) throws Exception {
+        String test = "package %s;\n\npublic class %s {\n    @Test\n    public void works() {}\n}\n";
+        Path testSources = Files.createDirectories(projectRoot.resolve("src/test/java/sample"));
+        Files.writeString(testSources.resolve("SampleTest.java"), String.format(test, "sample", "SampleTest"));
+        // A package named like a build directory is source, not build output
+        Path buildPackage = Files.createDirectories(testSources.resolve("build"));
+        Files.writeString(buildPackage.resolve("BuildTest.java"), String.format(test, "sample.build", "BuildTest"));
+        Path fixtures = Files.createDirectories(testSources.resolve("fixtures"));
+        Files.writeString(fixtures.resolve("FixtureTest.java"), String.format(test, "sample.fixtures", "FixtureTest"));
+        // A test root that is a module of its own, whose build output is pruned
+        Path integrationTests = Files.createDirectories(projectRoot.resolve("integration-tests"));
+        Files.writeString(integrationTests.resolve("pom.xml"), "<project/>");
+        Path integrationSources = Files.createDirectories(integrationTests.resolve("src/it"));
+        Files.writeString(integrationSources.resolve("IntegrationTest.java"), String.format(test, "it", "IntegrationTest"));
+        Path target = Files.createDirectories(integrationTests.resolve("target/generated-test-sources"));
+        Files.writeString(target.resolve("GeneratedTest.java"), String.format(test, "it", "GeneratedTest"));
+
+        // The package directory is also listed, nested inside the test root
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory =
+                mockDetection(projectRoot, "src/test/java", "src/test/java/sample", "integration-tests")) {
+            List<TestCaseInfo> testCases = researchParser.getTestCases(projectRoot,
+                    new DiscoveryOptions.Builder().excludes("**/fixtures").parallelWalk(true).build());
+
+            assertEquals(List.of("BuildTest", "IntegrationTest", "SampleTest"),
+                    testCases.stream().map(TestCaseInfo::getClassName).sorted().collect(Collectors.toList()),
+                    "The nested root should be walked once, and build output and excluded directories not at all.");
+        }
+    }
+
+    @Test
+    void discover_shouldKeepOnlyImportedJarsOnClasspath_whenPruningClasspath(@TempDir Path projectRoot) throws Exception {
+        Path testSources = Files.createDirectories(projectRoot.resolve("src/test/java/sample"));
+        Files.writeString(testSources.resolve("SampleTest.java"),
+                "package sample;\n\nimport used.api.Helper;\n\npublic class SampleTest {\n    @Test\n    public void works() {}\n}\n");
+        Path usedJar = createJar(projectRoot.resolve("used.jar"), "used/api/Helper.class");
+        Path unusedJar = createJar(projectRoot.resolve("unused.jar"), "unused/api/Other.class");
+
+        ParserConfig config = new ParserConfig.Builder().classpath(usedJar.toString(), unusedJar.toString())
+                .sourcepath("src/test/java").encodings(StandardCharsets.UTF_8.name()).complianceLevel("1.8").build();
+
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockDetection(projectRoot, config)) {
+            DiscoveryResult result = researchParser.discover(projectRoot,
+                    new DiscoveryOptions.Builder().classpathPruning(true).build());
+
+            assertEquals(1, result.getTestCases().size());
+            assertNotNull(result.getClasspathPruning(), "Pruning statistics should be reported.");
+            assertEquals(2, result.getClasspathPruning().getOriginalEntries());
+            assertEquals(1, result.getClasspathPruning().getKeptEntries(), "Only the jar supplying an imported package should be kept.");
+        }
+    }
+
+    @Test
+    void discover_shouldRecordPhaseTimersAndFileCounters(@TempDir Path projectRoot) throws Exception {
+        Path testSources = Files.createDirectories(projectRoot.resolve("src/test/java/sample"));
+        Files.writeString(testSources.resolve("SampleTest.java"),
+                "package sample;\n\npublic class SampleTest {\n    @Test\n    public void works() {}\n}\n");
+        Files.writeString(testSources.resolve("Helper.java"), "package sample;\n\npublic class Helper {\n}\n");
+
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockDetection(projectRoot, "src/test/java")) {
+            DiscoveryMetrics metrics = DiscoveryMetrics.global();
+            metrics.reset();
+            List<Phase> completed = new ArrayList<>();
+            MetricsListener listener = (phase, nanos) -> {
+                synchronized (completed) {
+                    completed.add(phase);
+                }
+            };
+            metrics.addListener(listener);
+            try {
+                researchParser.discover(projectRoot, DiscoveryOptions.defaults());
+            } finally {
+                metrics.removeListener(listener);
+            }
+
+            assertEquals(1, metrics.getTimer(Phase.DETECT).getCount());
+            assertEquals(1, metrics.getTimer(Phase.WALK).getCount());
+            assertEquals(2, metrics.getTimer(Phase.READ).getCount(), "Both files should be read.");
+            assertEquals(1, metrics.getTimer(Phase.PARSE).getCount(), "Only the file with tests should be parsed.");
+            assertEquals(1, metrics.getTimer(Phase.VISIT).getCount());
+            assertEquals(1, metrics.getCounter(DiscoveryMetrics.FILES_PARSED));
+            assertEquals(1, metrics.getCounter(DiscoveryMetrics.FILES_SKIPPED));
+            assertEquals(5, completed.size(), "The listener should see every recorded phase.");
+            assertEquals(metrics.getTimer(Phase.PARSE).getMaxNanos(), metrics.getTimer(Phase.PARSE).getTotalNanos());
+        }
+    }
+
+    @Test
+    void discover_shouldEmitFlightRecorderEvents_forEveryReadParseAndVisit(@TempDir Path projectRoot) throws Exception {
+        Path testSources = Files.createDirectories(projectRoot.resolve("src/test/java/sample"));
+        Path sampleTest = testSources.resolve("SampleTest.java");
+        Files.writeString(sampleTest,
+                "package sample;\n\npublic class SampleTest {\n    @Test\n    public void works() {}\n}\n");
+        Files.writeString(testSources.resolve("Helper.java"), "package sample;\n\npublic class Helper {\n}\n");
+
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockDetection(projectRoot, "src/test/java");
+             Recording recording = new Recording()) {
+            recording.enable(SourceReadEvent.class);
+            recording.enable(ParseEvent.class);
+            recording.enable(VisitEvent.class);
+            recording.start();
+            researchParser.discover(projectRoot, DiscoveryOptions.defaults());
+            recording.stop();
+            Path dump = projectRoot.resolve("discovery.jfr");
+            recording.dump(dump);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            Map<String, List<String>> outcomesByType = events.stream()
+                    .collect(Collectors.groupingBy(event -> event.getEventType().getLabel(),
+                            Collectors.mapping(event -> event.getString("outcome"), Collectors.toList())));
+            assertEquals(List.of("skipped", "success"), outcomesByType.get("Source Read").stream().sorted().collect(Collectors.toList()),
+                    "Both files should be read, and the one without tests skipped.");
+            assertEquals(List.of("success"), outcomesByType.get("Parse"));
+            assertEquals(List.of("success"), outcomesByType.get("Test Visit"));
+            RecordedEvent visit = events.stream().filter(event -> event.getEventType().getLabel().equals("Test Visit")).findFirst().get();
+            assertEquals(sampleTest.toAbsolutePath().toString(), visit.getString("path"));
+            assertEquals(1, visit.getInt("testCases"));
+        }
+    }
+
+    /**
+     * Writes a small project to discover: four test classes of two tests each, one of them in a nested
+     * package, and a helper that declares no test.
+     */
+    private static void writeSampleProject(Path projectRoot) throws IOException {
+        String testClass = "package %s;\n\npublic class %s {\n    @Test\n    public void first() {}\n\n"
+                + "    @Test\n    public void second() {}\n}\n";
+        Path testSources = Files.createDirectories(projectRoot.resolve("src/test/java/sample"));
+        for (String name : List.of("FirstTest", "SecondTest", "ThirdTest")) {
+            Files.writeString(testSources.resolve(name + ".java"), String.format(testClass, "sample", name));
+        }
+        Path nested = Files.createDirectories(testSources.resolve("nested"));
+        Files.writeString(nested.resolve("NestedTest.java"), String.format(testClass, "sample.nested", "NestedTest"));
+        Files.writeString(testSources.resolve("Helper.java"), "package sample;\n\npublic class Helper {\n}\n");
+    }
+
+    /**
+     * Stubs build tool detection of the given project to return a config with the given sourcepath, UTF-8
+     * encoded, and no classpath. The caller closes the returned mock.
+     */
+    private static MockedStatic<BuildToolDetectorFactory> mockDetection(Path projectRoot, String... sourcepath) {
+        String[] encodings = new String[sourcepath.length];
+        Arrays.fill(encodings, StandardCharsets.UTF_8.name());
+        return mockDetection(projectRoot,
+                new ParserConfig.Builder().sourcepath(sourcepath).encodings(encodings).complianceLevel("1.8").build());
+    }
+
+    /**
+     * Stubs build tool detection of the given project to return the given config. The caller closes the returned mock.
+     */
+    private static MockedStatic<BuildToolDetectorFactory> mockDetection(Path projectRoot, ParserConfig config) {
+        MockedStatic<BuildToolDetectorFactory> mockedFactory = mockStatic(BuildToolDetectorFactory.class);
+        mockedFactory.when(() -> BuildToolDetectorFactory.detect(projectRoot)).thenReturn(config);
+        return mockedFactory;
+    }
+
+    private Path createJar(Path jar, String classEntry) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new JarEntry(classEntry));
+            out.closeEntry();
+        }
+        return jar;
+    }
+
+    private void awaitTestCount(LiveTestIndex index, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (index.getTestCases().size() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(expected, index.getTestCases().size(), "The live index should reflect the change.");
+    }
+
     // The following tests for IOException and ParsingException can be adapted to use the real project
     // by setting up mockParserConfig to point to a specific (potentially non-existent for IO or malformed for parsing) file path
     // within the cloned commons-cli structure, or by trying to parse a file that would cause such an error.
@@ -0,0 +1,98 @@
+package edu.stevens.swe.research.java.parser.core;
+
+import edu.stevens.swe.research.java.parser.core.core.DiscoveryOptions;
+import edu.stevens.swe.research.java.parser.core.core.ParseProfile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResearchServerTest {
+
+    private static final String SAMPLE_TEST =
+            "package sample;\n\npublic class SampleTest {\n    @org.junit.jupiter.api.Test\n    public void works() {}\n}\n";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private HttpResponse<String> send(ResearchServer server, String method, String path, Path projectRoot) throws Exception {
+        String query = projectRoot == null ? "" : "?root=" + URLEncoder.encode(projectRoot.toString(), StandardCharsets.UTF_8);
+        URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + path + query);
+        HttpRequest request = HttpRequest.newBuilder(uri).method(method, HttpRequest.BodyPublishers.noBody()).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void server_shouldDetectAndDiscover_andServeRepeatedQueriesFromWarmState(@TempDir Path projectRoot) throws Exception {
+        Path testSources = Files.createDirectories(projectRoot.resolve("src").resolve("test").resolve("java").resolve("sample"));
+        Files.writeString(testSources.resolve("SampleTest.java"), SAMPLE_TEST);
+        DiscoveryOptions options = new DiscoveryOptions.Builder().parseProfile(ParseProfile.FAST_SYNTAX).build();
+
+        try (ResearchServer server = new ResearchServer(new ResearchParser(), options, 0, 2)) {
+            server.start();
+
+            HttpResponse<String> detect = send(server, "GET", "/detect", projectRoot);
+            assertEquals(200, detect.statusCode(), detect.body());
+            assertTrue(detect.body().contains("\"sourcepath\""), detect.body());
+
+            HttpResponse<String> first = send(server, "GET", "/tests", projectRoot);
+            assertEquals(200, first.statusCode(), first.body());
+            assertTrue(first.body().contains("\"methodName\":\"works\""), first.body());
+            HttpResponse<String> repeated = send(server, "GET", "/tests", projectRoot);
+            assertEquals(first.body(), repeated.body(), "A repeated query should be answered from the same index.");
+
+            HttpResponse<String> invalidate = send(server, "POST", "/invalidate", projectRoot);
+            assertEquals("{\"invalidated\":1}", invalidate.body());
+            assertEquals(200, send(server, "GET", "/tests", projectRoot).statusCode(),
+                    "An invalidated project should be detected and discovered again.");
+
+            assertEquals(400, send(server, "GET", "/tests", null).statusCode());
+            assertEquals(405, send(server, "GET", "/invalidate", null).statusCode());
+        }
+    }
+
+    @Test
+    void server_shouldRejectRequestsForOtherHosts_andFromOtherOrigins() throws Exception {
+        try (ResearchServer server = new ResearchServer(0)) {
+            server.start();
+            int port = server.getAddress().getPort();
+
+            // HttpClient does not let a request override its Host header, so a rebinding page is played over a socket
+            try (Socket socket = new Socket(server.getAddress().getAddress(), port)) {
+                socket.getOutputStream().write(("GET /tests HTTP/1.1\r\nHost: attacker.example:" + port
+                        + "\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                String statusLine = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII)).readLine();
+                assertEquals("HTTP/1.1 403 Forbidden", statusLine);
+            }
+
+            URI uri = URI.create("http://localhost:" + port + "/invalidate");
+            HttpRequest crossSite = HttpRequest.newBuilder(uri).header("Origin", "http://attacker.example")
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+            assertEquals(403, client.send(crossSite, HttpResponse.BodyHandlers.ofString()).statusCode());
+            HttpRequest sameSite = HttpRequest.newBuilder(uri).header("Origin", "http://localhost:" + port)
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+            assertEquals(200, client.send(sameSite, HttpResponse.BodyHandlers.ofString()).statusCode());
+            assertEquals(200, send(server, "POST", "/invalidate", null).statusCode());
+        }
+    }
+
+    @Test
+    void start_shouldRejectASecondStart() throws IOException {
+        try (ResearchServer server = new ResearchServer(0)) {
+            server.start();
+            assertThrows(IllegalStateException.class, server::start);
+        }
+    }
+}
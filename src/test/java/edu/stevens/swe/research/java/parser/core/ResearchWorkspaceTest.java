@@ -0,0 +1,66 @@
+package edu.stevens.swe.research.java.parser.core;
+
+import edu.stevens.swe.research.java.parser.core.core.DiscoveryOptions;
+import edu.stevens.swe.research.java.parser.core.core.ParseProfile;
+import edu.stevens.swe.research.java.parser.core.model.ProjectDiscoveryResult;
+import edu.stevens.swe.research.java.parser.core.model.WorkspaceDiscoveryResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResearchWorkspaceTest {
+
+    private static final String SAMPLE_TEST =
+            "package sample;\n\npublic class SampleTest {\n    @org.junit.jupiter.api.Test\n    public void works() {}\n}\n";
+
+    private Path createProject(Path root, String buildFile) throws IOException {
+        Path testSources = Files.createDirectories(root.resolve("src").resolve("test").resolve("java").resolve("sample"));
+        Files.writeString(root.resolve(buildFile), "");
+        Files.writeString(testSources.resolve("SampleTest.java"), SAMPLE_TEST);
+        return root;
+    }
+
+    @Test
+    void findProjectRoots_shouldFindMavenAndGradleRoots_withoutDescendingIntoThem(@TempDir Path workspace) throws IOException {
+        Path maven = createProject(workspace.resolve("maven-project"), "pom.xml");
+        Path gradle = createProject(workspace.resolve("group").resolve("gradle-project"), "build.gradle");
+        createProject(maven.resolve("module"), "pom.xml");
+        createProject(workspace.resolve(".hidden"), "pom.xml");
+
+        List<Path> roots = new ResearchWorkspace().findProjectRoots(workspace);
+
+        assertEquals(2, roots.size(), "Only the two top-level project roots should be found: " + roots);
+        assertTrue(roots.contains(maven));
+        assertTrue(roots.contains(gradle));
+    }
+
+    @Test
+    void discoverAll_shouldReportResultsAndFailuresPerProject(@TempDir Path workspace) {
+        Path first = workspace.resolve("first");
+        Path second = workspace.resolve("second");
+        Path missing = workspace.resolve("missing");
+        assertDoesNotThrow(() -> createProject(first, "pom.xml"));
+        assertDoesNotThrow(() -> createProject(second, "build.gradle"));
+
+        WorkspaceDiscoveryResult result = new ResearchWorkspace(new ResearchParser(), 1).discoverAll(
+                List.of(first, missing, second),
+                new DiscoveryOptions.Builder().parseProfile(ParseProfile.FAST_SYNTAX).build());
+
+        assertEquals(3, result.getProjects().size());
+        assertEquals(List.of(first, missing, second),
+                result.getProjects().stream().map(ProjectDiscoveryResult::getProjectRoot).toList(),
+                "Results should be reported in the order of the given roots.");
+        assertEquals(2, result.getSuccesses().size());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(missing, result.getFailures().get(0).getProjectRoot());
+        for (ProjectDiscoveryResult project : result.getSuccesses()) {
+            assertEquals(1, project.getResult().getTestCases().size(), "Each sample project declares one test.");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import edu.stevens.swe.research.java.parser.core.model.TestCaseInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiscoveryCacheTest {
+
+    @Test
+    void confirm_shouldDecideTouchedFiles_fromTheBytesReadForParsing(@TempDir Path tempDir) throws IOException {
+        Path javaFile = Files.writeString(tempDir.resolve("SampleTest.java"), "class SampleTest {}");
+        List<TestCaseInfo> found = List.of(new TestCaseInfo("SampleTest", "test", javaFile.toAbsolutePath().toString()));
+        DiscoveryCache cache = DiscoveryCache.open(tempDir.resolve("cache"), tempDir, "fingerprint");
+        DiscoveryCache.Probe probe = cache.probe(javaFile);
+        assertFalse(probe.isHit());
+        assertFalse(probe.isUndecided(), "An unknown file is a miss without reading it.");
+        assertNull(cache.confirm(probe, ByteBuffer.wrap(Files.readAllBytes(javaFile))));
+        cache.store(probe, found);
+
+        Files.setLastModifiedTime(javaFile, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        DiscoveryCache.Probe touched = cache.probe(javaFile);
+        assertTrue(touched.isUndecided(), "A touched file of the same size needs its content.");
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(javaFile));
+        assertEquals(found, cache.confirm(touched, content), "Unchanged content should be served from the cache.");
+        assertEquals(Files.size(javaFile), content.remaining(), "Confirming should not consume the content.");
+        assertTrue(cache.probe(javaFile).isHit(), "The new timestamp should be remembered.");
+
+        Files.writeString(javaFile, "class SampleTesT {}");
+        Files.setLastModifiedTime(javaFile, FileTime.fromMillis(System.currentTimeMillis() + 20_000));
+        DiscoveryCache.Probe changed = cache.probe(javaFile);
+        assertTrue(changed.isUndecided());
+        assertNull(cache.confirm(changed, ByteBuffer.wrap(Files.readAllBytes(javaFile))), "Changed content should be parsed again.");
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+}
@@ -0,0 +1,41 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParserConfigTest {
+
+    @Test
+    void build_shouldDeduplicateEntries_andRoundTripWithSameFingerprint() throws IOException {
+        ParserConfig config = new ParserConfig.Builder()
+                .classpath("/repo/a/a-1.0.jar", "/repo/b/b-2.0.jar", "/repo/a/a-1.0.jar")
+                .sourcepath("src/main/java", "src/test/java", "src/main/java")
+                .encodings("UTF-8", "ISO-8859-1", "UTF-8")
+                .complianceLevel("17")
+                .build();
+
+        assertArrayEquals(new String[]{"/repo/a/a-1.0.jar", "/repo/b/b-2.0.jar"}, config.getClasspathEntries(),
+                "Repeated entries should be dropped, keeping the classpath order.");
+        assertArrayEquals(new String[]{"UTF-8", "ISO-8859-1"}, config.getEncodings(),
+                "Encodings should stay aligned with their sourcepath entries.");
+        config.getClasspathEntries()[0] = "/repo/changed.jar";
+        assertEquals("/repo/a/a-1.0.jar", config.getClasspathEntries()[0], "Getters should not expose the config's arrays.");
+        ParserConfig unaligned = new ParserConfig.Builder().sourcepath("src/main/java", "src/test/java", "src/main/java")
+                .encodings("UTF-8", "ISO-8859-1").build();
+        assertEquals(3, unaligned.getSourcepathEntries().length,
+                "Without one encoding per entry, the sourcepath should be kept as given.");
+
+        ParserConfig copy = ParserConfig.fromBytes(config.toBytes());
+        assertEquals(config, copy);
+        assertEquals(config.hashCode(), copy.hashCode());
+        assertEquals(config.fingerprint(), copy.fingerprint());
+
+        ParserConfig other = new ParserConfig.Builder().classpath("/repo/b/b-2.0.jar", "/repo/a/a-1.0.jar")
+                .sourcepath("src/main/java", "src/test/java").encodings("UTF-8", "ISO-8859-1").complianceLevel("17").build();
+        assertNotEquals(config, other, "Classpath order matters.");
+        assertNotEquals(config.fingerprint(), other.fingerprint());
+    }
+}
@@ -0,0 +1,36 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParserFactoryTest {
+
+    @Test
+    void borrowParser_shouldLendOneParserPerThread_configuredForEveryParse() throws Exception {
+        ParserConfig config = new ParserConfig.Builder().complianceLevel("17").build();
+        ParserFactory factory = new ParserFactory(config, ParseProfile.FULL_BINDINGS);
+        String source = "public class SampleTest {\n    record Pair(int a, int b) {}\n}\n";
+
+        ASTParser parser = factory.borrowParser();
+        for (int i = 0; i < 2; i++) {
+            assertSame(parser, factory.borrowParser(), "A thread should get back its own parser.");
+            parser.setSource(source.toCharArray());
+            CompilationUnit cu = (CompilationUnit) parser.createAST(null);
+            assertEquals(0, cu.getProblems().length,
+                    "Every parse should use the Java 17 compliance, not the defaults JDT resets to after a parse.");
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertNotSame(parser, executor.submit(factory::borrowParser).get(), "Other threads should get their own parser.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package edu.stevens.swe.research.java.parser.core.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SourceReaderTest {
+
+    @Test
+    void readBytes_shouldReuseItsBuffer_readLargeFiles_andDecodeWithTheEncodingOfTheirRoot(@TempDir Path tempDir) throws IOException {
+        Path latinRoot = Files.createDirectories(tempDir.resolve("latin/src/test/java"));
+        Path utf8Root = Files.createDirectories(tempDir.resolve("utf8/src/test/java"));
+        Path latinFile = Files.write(latinRoot.resolve("CafeTest.java"), "// caf\u00e9".getBytes(StandardCharsets.ISO_8859_1));
+        Path utf8File = Files.write(utf8Root.resolve("CafeTest.java"), "// caf\u00e9".getBytes(StandardCharsets.UTF_8));
+        String largeSource = "// " + "x".repeat(200 * 1024) + "\u00e9";
+        Path largeFile = Files.writeString(utf8Root.resolve("LargeTest.java"), largeSource);
+        SourceReader reader = new SourceReader(new ParserConfig.Builder()
+                .sourcepath(latinRoot.toString(), utf8Root.toString())
+                .encodings(StandardCharsets.ISO_8859_1.name(), StandardCharsets.UTF_8.name()).build());
+
+        assertEquals(StandardCharsets.ISO_8859_1, reader.encodingFor(latinFile));
+        assertEquals("// caf\u00e9", new String(reader.read(latinFile)));
+        assertEquals("// caf\u00e9", new String(reader.read(utf8File)));
+
+        ByteBuffer small = reader.readBytes(utf8File);
+        assertEquals(Files.size(utf8File), small.remaining());
+        assertFalse(small.isDirect(), "Files should be read into a heap buffer.");
+        assertSame(small, reader.readBytes(latinFile), "The buffer should be reused between files.");
+
+        ByteBuffer large = reader.readBytes(largeFile);
+        assertFalse(large.isDirect(), "Large files should not be mapped.");
+        assertEquals(Files.size(largeFile), large.remaining());
+        assertEquals(largeSource, new String(reader.decode(largeFile, large)));
+        assertSame(large, reader.readBytes(utf8File), "The grown buffer should be reused.");
+        assertEquals("// caf\u00e9", new String(reader.read(utf8File)));
+    }
+}
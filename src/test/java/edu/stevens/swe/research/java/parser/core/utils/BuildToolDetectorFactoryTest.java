@@ -0,0 +1,117 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import edu.stevens.swe.research.java.parser.core.core.ParserConfig;
+import edu.stevens.swe.research.java.parser.core.utils.exceptions.ProjectDetectionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildToolDetectorFactoryTest {
+
+    @Test
+    void detect_shouldDetectEachRootOnce_whileConcurrentCallersWait(@TempDir Path tempDir) throws Exception {
+        Path projectRoot = Files.createDirectories(tempDir.resolve("project"));
+        Files.createFile(projectRoot.resolve("counting.marker"));
+        Path link = Files.createSymbolicLink(tempDir.resolve("link"), projectRoot);
+        AtomicInteger detections = new AtomicInteger();
+        ProjectDetector countingDetector = new ProjectDetector() {
+            @Override
+            public ParserConfig detect(Path root) {
+                detections.incrementAndGet();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new ParserConfig.Builder().complianceLevel("17").build();
+            }
+
+            @Override
+            public boolean supports(Path root) {
+                return Files.exists(root.resolve("counting.marker"));
+            }
+        };
+        BuildToolDetectorFactory.addDetector(countingDetector);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ParserConfig>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                // Differently spelled paths to the same root share one detection, also through a link
+                // followed by a directory that does not exist, which cannot be resolved as a whole
+                Path spelling = i % 3 == 0 ? projectRoot : (i % 3 == 1 ? projectRoot : link).resolve("sub").resolve("..");
+                results.add(executor.submit(() -> BuildToolDetectorFactory.detect(spelling)));
+            }
+            ParserConfig first = results.get(0).get();
+            for (Future<ParserConfig> result : results) {
+                assertSame(first, result.get(), "Every caller should get the one detected config.");
+            }
+            assertEquals(1, detections.get(), "The root should be detected once.");
+
+            assertTrue(BuildToolDetectorFactory.invalidate(link.resolve("sub").resolve("..")));
+            BuildToolDetectorFactory.detect(projectRoot);
+            assertEquals(2, detections.get(), "An invalidated root should be detected again.");
+        } finally {
+            executor.shutdownNow();
+            BuildToolDetectorFactory.removeDetector(countingDetector);
+        }
+    }
+
+    @Test
+    void addProvider_shouldCreateDetector_onlyForSupportedProjects(@TempDir Path tempDir) throws Exception {
+        Path otherRoot = Files.createDirectories(tempDir.resolve("other"));
+        Path providedRoot = Files.createDirectories(tempDir.resolve("provided"));
+        Files.createFile(providedRoot.resolve("provided.marker"));
+        AtomicInteger created = new AtomicInteger();
+        ProjectDetectorProvider provider = new ProjectDetectorProvider() {
+            @Override
+            public String name() {
+                return "ProvidedDetector";
+            }
+
+            @Override
+            public boolean supports(Path root) {
+                return Files.exists(root.resolve("provided.marker"));
+            }
+
+            @Override
+            public ProjectDetector create() {
+                created.incrementAndGet();
+                return new ProjectDetector() {
+                    @Override
+                    public ParserConfig detect(Path root) {
+                        return new ParserConfig.Builder().complianceLevel("21").build();
+                    }
+
+                    @Override
+                    public boolean supports(Path root) {
+                        return true;
+                    }
+                };
+            }
+        };
+        BuildToolDetectorFactory.addProvider(provider);
+
+        try {
+            assertThrows(ProjectDetectionException.class, () -> BuildToolDetectorFactory.detect(otherRoot));
+            assertEquals(0, created.get(), "The detector should not be created for a project it does not support.");
+
+            assertEquals("21", BuildToolDetectorFactory.detect(providedRoot).getComplianceLevel());
+            BuildToolDetectorFactory.invalidate(providedRoot);
+            BuildToolDetectorFactory.detect(providedRoot);
+            assertEquals(1, created.get(), "The detector should be created once and reused.");
+        } finally {
+            BuildToolDetectorFactory.removeProvider(provider);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import edu.stevens.swe.research.java.parser.core.core.ParserConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DetectionCacheTest {
+
+    @Test
+    void detect_shouldServeUnchangedProjectFromCache_untilABuildFileChanges(@TempDir Path projectRoot) throws Exception {
+        Path modulePom = Files.createDirectories(projectRoot.resolve("module")).resolve("pom.xml");
+        Files.writeString(projectRoot.resolve("pom.xml"), "<project><modules><module>module</module></modules></project>");
+        Files.writeString(modulePom, "<project/>");
+        ParserConfig config = new ParserConfig.Builder().sourcepath(projectRoot.resolve("module/src/test/java").toString())
+                .encodings(StandardCharsets.UTF_8.name()).complianceLevel("17").build();
+        DetectionCache cache = DetectionCache.open(projectRoot.resolve(".cache"));
+
+        try (MockedStatic<BuildToolDetectorFactory> mockedFactory = mockStatic(BuildToolDetectorFactory.class)) {
+            mockedFactory.when(() -> BuildToolDetectorFactory.detect(projectRoot)).thenReturn(config);
+
+            assertEquals(config, cache.detect(projectRoot));
+            assertEquals(config, DetectionCache.open(projectRoot.resolve(".cache")).detect(projectRoot),
+                    "A warm detection should return the cached config.");
+            mockedFactory.verify(() -> BuildToolDetectorFactory.detect(projectRoot), times(1));
+
+            Files.setLastModifiedTime(modulePom, FileTime.fromMillis(0));
+            cache.detect(projectRoot);
+            mockedFactory.verify(() -> BuildToolDetectorFactory.detect(projectRoot), times(1));
+
+            Files.writeString(modulePom, "<project><packaging>jar</packaging></project>");
+            cache.detect(projectRoot);
+            mockedFactory.verify(() -> BuildToolDetectorFactory.detect(projectRoot), times(2));
+            assertEquals(1, cache.getHits(), "Touching a build file should not invalidate the entry.");
+            assertEquals(2, cache.getMisses());
+        }
+    }
+}
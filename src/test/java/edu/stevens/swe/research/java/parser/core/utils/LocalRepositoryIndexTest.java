@@ -0,0 +1,51 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalRepositoryIndexTest {
+
+    @Test
+    void hasJar_shouldAnswerFromTheIndex_untilRefreshed(@TempDir Path tempDir) throws Exception {
+        Path repository = tempDir.resolve("repository");
+        Path artifactDir = repository.resolve("org/junit/jupiter/junit-jupiter-api");
+        for (String version : List.of("5.9.0", "5.10.0")) {
+            Files.createFile(Files.createDirectories(artifactDir.resolve(version)).resolve("junit-jupiter-api-" + version + ".jar"));
+        }
+        Files.createFile(Files.createDirectories(repository.resolve("org/apache/apache/30")).resolve("apache-30.pom"));
+        Path indexFile = tempDir.resolve("cache").resolve("repository.index");
+
+        LocalRepositoryIndex index = LocalRepositoryIndex.open(repository, indexFile);
+        assertTrue(index.hasJar("org.junit.jupiter", "junit-jupiter-api", "5.10.0"));
+        assertFalse(index.hasJar("org.junit.jupiter", "junit-jupiter-api", "5.8.0"));
+        assertFalse(index.hasJar("org.apache", "apache", "30"), "A POM-only version has no jar.");
+        assertTrue(index.hasPom("org.apache", "apache", "30"));
+        assertFalse(index.containsArtifact("org.example", "missing"));
+        assertEquals(List.of("5.10.0", "5.9.0"), index.getJarVersions("org.junit.jupiter", "junit-jupiter-api").stream().sorted().collect(Collectors.toList()));
+
+        Files.createFile(Files.createDirectories(artifactDir.resolve("5.11.0")).resolve("junit-jupiter-api-5.11.0.jar"));
+        Files.setLastModifiedTime(artifactDir, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        Files.delete(artifactDir.resolve("5.9.0").resolve("junit-jupiter-api-5.9.0.jar"));
+        Files.setLastModifiedTime(artifactDir.resolve("5.9.0"), FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        assertFalse(index.hasJar("org.junit.jupiter", "junit-jupiter-api", "5.11.0"), "Misses should be answered from the index.");
+        assertTrue(index.hasJar("org.junit.jupiter", "junit-jupiter-api", "5.9.0"), "Hits should be answered from the index.");
+        assertFalse(Files.exists(indexFile), "Nothing should be written before the index is saved.");
+        index.refresh();
+        assertTrue(index.hasJar("org.junit.jupiter", "junit-jupiter-api", "5.11.0"), "A refresh should list the changed directories.");
+        assertFalse(index.hasJar("org.junit.jupiter", "junit-jupiter-api", "5.9.0"), "A refresh should drop removed jars.");
+
+        Files.delete(artifactDir.resolve("5.10.0").resolve("junit-jupiter-api-5.10.0.jar"));
+        LocalRepositoryIndex reopened = LocalRepositoryIndex.open(repository, indexFile);
+        assertTrue(reopened.hasJar("org.junit.jupiter", "junit-jupiter-api", "5.10.0"), "A recently written index file should be trusted.");
+        assertTrue(reopened.hasJar("org.junit.jupiter", "junit-jupiter-api", "5.11.0"), "The index should be read back from its file.");
+        assertNull(LocalRepositoryIndex.open(repository, null).getIndexFile(), "An index without a file lives in memory only.");
+    }
+}
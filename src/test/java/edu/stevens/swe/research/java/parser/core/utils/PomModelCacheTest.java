@@ -0,0 +1,46 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PomModelCacheTest {
+
+    @Test
+    void get_shouldReuseModelsUntilThePomChanges_andEvictLeastRecentlyUsed(@TempDir Path tempDir) throws Exception {
+        Path apacheParent = Files.writeString(tempDir.resolve("apache-30.pom"), "<project/>");
+        Path commonsParent = Files.writeString(tempDir.resolve("commons-parent-64.pom"), "<project/>");
+        Path otherParent = Files.writeString(tempDir.resolve("other-1.pom"), "<project/>");
+        AtomicInteger loads = new AtomicInteger();
+        PomModelCache.Loader loader = file -> {
+            loads.incrementAndGet();
+            return new PomModel.Builder().dependency(new PomModel.Dependency("junit", "junit", "4.13.2", "test")).build();
+        };
+        PomModelCache cache = new PomModelCache(2);
+
+        PomModel first = cache.get(apacheParent, loader);
+        assertSame(first, cache.get(apacheParent, loader), "An unchanged POM should be served from the cache.");
+        assertEquals(1, loads.get());
+        assertEquals(0.5, cache.getHitRate());
+
+        Files.writeString(apacheParent, "<project><properties/></project>");
+        cache.get(apacheParent, loader);
+        assertEquals(2, loads.get(), "A changed POM should be read again.");
+
+        cache.get(commonsParent, loader);
+        cache.get(apacheParent, loader);
+        cache.get(otherParent, loader);
+        assertEquals(2, cache.size());
+        cache.get(apacheParent, loader);
+        assertEquals(4, loads.get(), "The recently used POM should have been kept.");
+        cache.get(commonsParent, loader);
+        assertEquals(5, loads.get(), "The least recently used POM should have been evicted.");
+        assertEquals(3, cache.getHits());
+        assertEquals(5, cache.getMisses());
+    }
+}
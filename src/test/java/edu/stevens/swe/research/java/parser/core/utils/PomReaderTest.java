@@ -0,0 +1,53 @@
+package edu.stevens.swe.research.java.parser.core.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PomReaderTest {
+
+    @Test
+    void read_shouldReadOnlyTheProjectsOwnElements(@TempDir Path tempDir) throws Exception {
+        Path pomFile = Files.writeString(tempDir.resolve("pom.xml"), String.join("\n",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+                "  <parent><groupId>org.apache</groupId><artifactId>apache</artifactId><version>30</version></parent>",
+                "  <artifactId>sample</artifactId>",
+                "  <properties><junit.version> 5.10.0 </junit.version><!-- comment --></properties>",
+                "  <modules><module>core</module><module>cli</module></modules>",
+                "  <dependencyManagement><dependencies>",
+                "    <dependency><groupId>org.mockito</groupId><artifactId>mockito-core</artifactId><version>5.7.0</version></dependency>",
+                "  </dependencies></dependencyManagement>",
+                "  <dependencies>",
+                "    <dependency><groupId>org.junit.jupiter</groupId><artifactId>junit-jupiter-api</artifactId>",
+                "      <version>${junit.version}</version><scope>test</scope>",
+                "      <exclusions><exclusion><groupId>x</groupId><artifactId>y</artifactId><version>1</version></exclusion></exclusions>",
+                "    </dependency>",
+                "    <dependency><groupId>org.example</groupId><artifactId>sibling</artifactId><version>${project.version}</version></dependency>",
+                "  </dependencies>",
+                "  <build><plugins><plugin><dependencies>",
+                "    <dependency><groupId>org.ow2.asm</groupId><artifactId>asm</artifactId><version>9.6</version></dependency>",
+                "  </dependencies></plugin></plugins></build>",
+                "  <profiles><profile><properties><junit.version>4.13.2</junit.version></properties></profile></profiles>",
+                "</project>"));
+
+        PomModel pom = PomReader.read(pomFile);
+
+        assertEquals("sample", pom.getArtifactId());
+        assertTrue(pom.hasParent());
+        assertEquals("apache", pom.getParentArtifactId());
+        assertEquals(List.of("core", "cli"), pom.getModules());
+        assertEquals(Map.of("junit.version", "5.10.0"), pom.getProperties());
+        assertEquals(2, pom.getDependencies().size(), "Plugin dependencies should not be read.");
+        assertEquals("test", pom.getDependencies().get(0).getScope());
+        assertEquals(Map.of("org.junit.jupiter:junit-jupiter-api", "5.10.0", "org.example:sibling", "30"),
+                pom.getDependencyVersions(), "Versions should be resolved, project.version from the parent.");
+        assertEquals(Map.of("org.mockito:mockito-core", "5.7.0"), pom.getManagedVersions());
+    }
+}